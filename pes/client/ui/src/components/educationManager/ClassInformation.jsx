@@ -69,12 +69,16 @@ const ClassInformation = ({
                 return;
             }
             try {
-                const [roomsData, teachersResponse] = await Promise.all([
+                const [roomsResponse, teachersResponse] = await Promise.all([
                     getRoomAvailability(editData.startYear),
                     getAllTeachers(editData.startYear)
                 ]);
 
-                setRoomAvailability(roomsData || []);
+                if (roomsResponse && roomsResponse.success) {
+                    setRoomAvailability(roomsResponse.data || []);
+                } else {
+                    setRoomAvailability([]);
+                }
 
                 if (teachersResponse && teachersResponse.success) {
                     setTeachers(teachersResponse.data || []);
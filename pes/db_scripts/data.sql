@@ -105,7 +105,8 @@ INSERT INTO lesson (lesson_id, topic, description, duration, materials) VALUES
 SET IDENTITY_INSERT lesson OFF;
 
 -- Insert data into the syllabus_lesson table
-SET IDENTITY_INSERT syllabus_lesson ON;
+-- syllabus_lesson, student_class, schedule, activity, admission_form use pooled sequences (allocation 50):
+-- restart past the seeded ids so the first block Hibernate hands out does not collide
 INSERT INTO syllabus_lesson (syllabus_lesson_id, note, syllabus_id, lesson_id) VALUES
 (1, 'First week', 1, 1),
 (2, 'Second week', 1, 2),
@@ -113,7 +114,7 @@ INSERT INTO syllabus_lesson (syllabus_lesson_id, note, syllabus_id, lesson_id) V
 (4, 'Second week', 2, 4),
 (5, 'First week', 3, 1),
 (6, 'Second week', 3, 2);
-SET IDENTITY_INSERT syllabus_lesson OFF;
+ALTER SEQUENCE syllabus_lesson_seq RESTART WITH 101;
 
 -- Insert data into the classes table
 SET IDENTITY_INSERT classes ON;
@@ -124,23 +125,20 @@ INSERT INTO classes (classes_id, name, number_student, room_number, start_date,
 SET IDENTITY_INSERT classes OFF;
 
 -- Insert data into the student_class table
-SET IDENTITY_INSERT student_class ON;
 INSERT INTO student_class (student_class_id, student_id, classes_id) VALUES
 (1, 1, 1),
 (2, 2, 2);
-SET IDENTITY_INSERT student_class OFF;
+ALTER SEQUENCE student_class_seq RESTART WITH 101;
 
 -- Insert data into the schedule table
-SET IDENTITY_INSERT schedule ON;
 INSERT INTO schedule (schedule_id, week_number, note, classes_id) VALUES
 (1, 1, 'First week of school', 1),
 (2, 1, 'First week of school', 2),
 (3, 2, 'Second week of school', 1),
 (4, 2, 'Second week of school', 2);
-SET IDENTITY_INSERT schedule OFF;
+ALTER SEQUENCE schedule_seq RESTART WITH 101;
 
 -- Insert data into the activity table
-SET IDENTITY_INSERT activity ON;
 INSERT INTO activity (activity_id, topic, description, day_of_week, start_time, end_time, schedule_id, lesson_id) VALUES
 (1, 'Alphabet Fun', 'Learning letters A-E', 'MONDAY', '08:00', '09:30', 1, 1),
 (2, 'Number Play', 'Counting 1-5', 'TUESDAY', '08:00', '09:30', 1, 2),
@@ -178,7 +176,7 @@ INSERT INTO activity (activity_id, topic, description, day_of_week, start_time,
 (34, 'Number Play', 'Simple subtraction', 'THURSDAY', '14:30', '16:00', 4, 2),
 (35, 'Colorful World', 'Painting', 'FRIDAY', '13:00', '14:30', 4, 3),
 (36, 'Fairy Tales', 'Puppet show', 'FRIDAY', '14:30', '16:00', 4, 4);
-SET IDENTITY_INSERT activity OFF;
+ALTER SEQUENCE activity_seq RESTART WITH 101;
 
 -- Insert data into the admission_term table
 SET IDENTITY_INSERT admission_term ON;
@@ -189,7 +187,6 @@ INSERT INTO admission_term (admission_term_id, name, start_date, end_date, year,
 SET IDENTITY_INSERT admission_term OFF;
 
 -- Insert data into the admission_form table
-SET IDENTITY_INSERT admission_form ON;
 INSERT INTO admission_form (admission_form_id, household_registration_address, child_characteristics_form_img, commitment_img, cancel_reason, submitted_date, note, status, parent_id, student_id, admission_term_id) VALUES
 (3, '789 Pine St', 'https://picsum.photos/seed/ccf3/200/300', 'https://picsum.photos/seed/c3/200/300', NULL, '2025-02-21', 'Re-applicant', 'PENDING_APPROVAL', 3, 3, 1),
 (4, '101 Maple Dr', 'https://picsum.photos/seed/ccf4/200/300', 'https://picsum.photos/seed/c4/200/300', NULL, '2025-02-22', '', 'PENDING_APPROVAL', 4, 4, 2),
@@ -209,4 +206,9 @@ INSERT INTO admission_form (admission_form_id, household_registration_address, c
 (18, '666 Elm Ct', 'https://picsum.photos/seed/ccf18/200/300', 'https://picsum.photos/seed/c18/200/300', NULL, '2025-03-08', '', 'PENDING_APPROVAL', 18, 18, 2),
 (19, '777 Spruce Way', 'https://picsum.photos/seed/ccf19/200/300', 'https://picsum.photos/seed/c19/200/300', NULL, '2025-03-09', '', 'PENDING_APPROVAL', 19, 19, 1),
 (20, '888 Willow Ave', 'https://picsum.photos/seed/ccf20/200/300', 'https://picsum.photos/seed/c20/200/300', NULL, '2025-03-10', '', 'PENDING_APPROVAL', 20, 20, 2);
-SET IDENTITY_INSERT admission_form OFF;
\ No newline at end of file
+ALTER SEQUENCE admission_form_seq RESTART WITH 101;
+-- admission_term.reserved_count counts the forms holding a seat, submissions only move it with guarded UPDATEs
+UPDATE admission_term SET reserved_count =
+    (SELECT COUNT(*) FROM admission_form f
+     WHERE f.admission_term_id = admission_term.admission_term_id
+       AND f.status IN ('PENDING_APPROVAL', 'APPROVED'));
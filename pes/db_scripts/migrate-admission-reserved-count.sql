@@ -0,0 +1,26 @@
+-- Adds admission_term.reserved_count and fills it from the forms that currently hold a seat
+-- (PENDING_APPROVAL + APPROVED). Submissions only move the counter with guarded UPDATEs, so it must be
+-- correct before the version of the application that enforces max_number_registration this way starts.
+-- Run once against an existing database while the application is stopped; re-running it recomputes the counter.
+-- Example using sqlcmd: sqlcmd -S localhost -U sa -P <YourPassword> -d pes_sba -i migrate-admission-reserved-count.sql
+--
+-- New databases created by init-db get the backfill at the end of data.sql and do not need this script.
+
+USE pes_sba;
+
+SET QUOTED_IDENTIFIER ON;
+
+IF NOT EXISTS (SELECT 1 FROM sys.columns WHERE object_id = OBJECT_ID('admission_term') AND name = 'reserved_count')
+BEGIN
+    ALTER TABLE admission_term ADD reserved_count int NULL;
+END;
+GO
+
+BEGIN TRANSACTION;
+
+UPDATE admission_term SET reserved_count =
+    (SELECT COUNT(*) FROM admission_form f
+     WHERE f.admission_term_id = admission_term.admission_term_id
+       AND f.status IN ('PENDING_APPROVAL', 'APPROVED'));
+
+COMMIT TRANSACTION;
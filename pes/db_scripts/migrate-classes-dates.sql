@@ -0,0 +1,42 @@
+-- Converts classes.start_date / classes.end_date from NVARCHAR to DATE in place.
+-- Run once against an existing database BEFORE starting the version of the application that maps them as LocalDate
+-- (`ddl-auto=update` never changes the type of an existing column).
+-- Example using sqlcmd: sqlcmd -S localhost -U sa -P <YourPassword> -d pes_sba -i migrate-classes-dates.sql
+--
+-- New databases created by init-db already get DATE columns and do not need this script.
+
+USE pes_sba;
+
+SET QUOTED_IDENTIFIER ON;
+
+IF EXISTS (SELECT 1 FROM sys.columns
+           WHERE object_id = OBJECT_ID('classes') AND name = 'start_date' AND system_type_id <> TYPE_ID('date'))
+BEGIN
+    -- Stop before touching anything if some value is not yyyy-MM-dd
+    IF EXISTS (SELECT 1 FROM classes
+               WHERE (start_date IS NOT NULL AND TRY_CONVERT(date, start_date, 23) IS NULL)
+                  OR (end_date IS NOT NULL AND TRY_CONVERT(date, end_date, 23) IS NULL))
+    BEGIN
+        SELECT classes_id, start_date, end_date FROM classes
+        WHERE (start_date IS NOT NULL AND TRY_CONVERT(date, start_date, 23) IS NULL)
+           OR (end_date IS NOT NULL AND TRY_CONVERT(date, end_date, 23) IS NULL);
+        THROW 50001, 'classes contains start_date/end_date values that are not yyyy-MM-dd, fix them and re-run', 1;
+    END;
+
+    BEGIN TRANSACTION;
+
+    -- Indexes on the old columns block ALTER COLUMN; they are recreated on the new type below
+    DROP INDEX IF EXISTS idx_classes_teacher_start ON classes;
+    DROP INDEX IF EXISTS idx_classes_room_start ON classes;
+
+    UPDATE classes SET start_date = CONVERT(nvarchar(10), TRY_CONVERT(date, start_date, 23), 23),
+                       end_date = CONVERT(nvarchar(10), TRY_CONVERT(date, end_date, 23), 23);
+
+    ALTER TABLE classes ALTER COLUMN start_date date NULL;
+    ALTER TABLE classes ALTER COLUMN end_date date NULL;
+
+    CREATE INDEX idx_classes_teacher_start ON classes (teacher_id, start_date);
+    CREATE INDEX idx_classes_room_start ON classes (room_number, start_date);
+
+    COMMIT TRANSACTION;
+END;
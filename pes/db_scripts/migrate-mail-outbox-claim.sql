@@ -0,0 +1,39 @@
+-- Lets mail_outbox rows be claimed by a dispatcher: adds mail_outbox.claim_token and allows status MAIL_SENDING.
+-- Hibernate created mail_outbox.status with a CHECK constraint listing the Status values known at that time,
+-- and `ddl-auto=update` never rewrites it, so MAIL_SENDING would be rejected without this script.
+-- Run once against an existing database BEFORE starting the version of the application that claims outbox rows.
+-- Example using sqlcmd: sqlcmd -S localhost -U sa -P <YourPassword> -d pes_sba -i migrate-mail-outbox-claim.sql
+--
+-- New databases created by init-db already get the new column and constraint and do not need this script.
+
+USE pes_sba;
+
+SET QUOTED_IDENTIFIER ON;
+
+IF OBJECT_ID('mail_outbox') IS NOT NULL
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM sys.columns WHERE object_id = OBJECT_ID('mail_outbox') AND name = 'claim_token')
+    BEGIN
+        ALTER TABLE mail_outbox ADD claim_token nvarchar(36) NULL;
+    END;
+
+    DECLARE @constraint sysname;
+    DECLARE @sql nvarchar(max);
+    DECLARE status_checks CURSOR LOCAL FAST_FORWARD FOR
+        SELECT cc.name FROM sys.check_constraints cc
+        JOIN sys.columns c ON c.object_id = cc.parent_object_id AND c.column_id = cc.parent_column_id
+        WHERE cc.parent_object_id = OBJECT_ID('mail_outbox') AND c.name = 'status';
+    OPEN status_checks;
+    FETCH NEXT FROM status_checks INTO @constraint;
+    WHILE @@FETCH_STATUS = 0
+    BEGIN
+        SET @sql = N'ALTER TABLE mail_outbox DROP CONSTRAINT ' + QUOTENAME(@constraint);
+        EXEC sp_executesql @sql;
+        FETCH NEXT FROM status_checks INTO @constraint;
+    END;
+    CLOSE status_checks;
+    DEALLOCATE status_checks;
+
+    ALTER TABLE mail_outbox ADD CONSTRAINT ck_mail_outbox_status
+        CHECK (status IN ('MAIL_PENDING', 'MAIL_SENDING', 'MAIL_SENT', 'MAIL_DEAD'));
+END;
@@ -0,0 +1,52 @@
+-- Moves mail_outbox.mail_outbox_id from IDENTITY to the pooled sequence mail_outbox_seq (allocation 50),
+-- like the other tables written in batches. SQL Server cannot drop the IDENTITY property of a column,
+-- so the table is rebuilt and its rows copied with their ids.
+-- Run once against an existing database BEFORE starting the version of the application that maps MailOutbox
+-- with @SequenceGenerator, and after migrate-mail-outbox-claim.sql.
+-- Example using sqlcmd: sqlcmd -S localhost -U sa -P <YourPassword> -d pes_sba -i migrate-mail-outbox-sequence.sql
+--
+-- New databases created by init-db already get the sequence and do not need this script.
+
+USE pes_sba;
+
+SET QUOTED_IDENTIFIER ON;
+
+IF COLUMNPROPERTY(OBJECT_ID('mail_outbox'), 'mail_outbox_id', 'IsIdentity') = 1
+BEGIN
+    BEGIN TRANSACTION;
+
+    EXEC sp_rename 'mail_outbox', 'mail_outbox_identity';
+
+    CREATE TABLE mail_outbox (
+        mail_outbox_id int NOT NULL PRIMARY KEY,
+        attempts int NOT NULL,
+        body nvarchar(max) NULL,
+        claim_token nvarchar(36) NULL,
+        created_at datetime2(6) NULL,
+        heading nvarchar(150) NULL,
+        last_error nvarchar(255) NULL,
+        next_attempt_at datetime2(6) NULL,
+        recipient nvarchar(150) NULL,
+        sent_at datetime2(6) NULL,
+        status nvarchar(50) NULL CHECK (status IN ('MAIL_PENDING', 'MAIL_SENDING', 'MAIL_SENT', 'MAIL_DEAD')),
+        subject nvarchar(150) NULL
+    );
+
+    INSERT INTO mail_outbox (mail_outbox_id, attempts, body, claim_token, created_at, heading, last_error,
+                             next_attempt_at, recipient, sent_at, status, subject)
+    SELECT mail_outbox_id, attempts, body, claim_token, created_at, heading, last_error,
+           next_attempt_at, recipient, sent_at, status, subject
+    FROM mail_outbox_identity;
+
+    DROP TABLE mail_outbox_identity;
+
+    CREATE INDEX idx_mail_outbox_status_next ON mail_outbox (status, next_attempt_at);
+    CREATE INDEX idx_mail_outbox_claim_token ON mail_outbox (claim_token);
+
+    -- pooled optimizer hands out (value - 49 .. value), start 50 past the copied ids so the first block does not collide
+    DECLARE @start int = (SELECT ISNULL(MAX(mail_outbox_id), 0) + 50 FROM mail_outbox);
+    DECLARE @sql nvarchar(max) = N'CREATE SEQUENCE mail_outbox_seq START WITH ' + CAST(@start AS nvarchar(20)) + N' INCREMENT BY 50';
+    EXEC sp_executesql @sql;
+
+    COMMIT TRANSACTION;
+END;
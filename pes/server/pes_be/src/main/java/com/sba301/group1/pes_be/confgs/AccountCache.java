@@ -0,0 +1,89 @@
+package com.sba301.group1.pes_be.confgs;
+
+import com.sba301.group1.pes_be.models.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache account theo email, co TTL va gioi han so entry.
+ * {@link JWTAuthenticationFilter} va JWTService.extractAccountFromCookie dung chung de moi request khong phai query account.
+ * Account tra ve dung chung giua cac thread, chi doc; cho nao sua account (status, profile) phai goi {@link #invalidate(String)}.
+ */
+@Component
+public class AccountCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${security-account-cache-ttl:60000}")
+    private long ttl;
+
+    @Value("${security-account-cache-max-size:10000}")
+    private int maxSize;
+
+    public Account get(String email, Function<String, Account> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.incrementAndGet();
+            return entry.account();
+        }
+
+        misses.incrementAndGet();
+        Account account = loader.apply(email);
+        if (account == null) {
+            entries.remove(email);
+            return null;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(email, new Entry(account, now + ttl));
+        return account;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            entries.remove(email);
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Xoa cac entry het han truoc, neu van day thi bo bot entry bat ky
+    private void evict(long now) {
+        entries.values().removeIf(e -> e.expiresAt() <= now);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry(Account account, long expiresAt) {
+    }
+}
@@ -1,9 +1,11 @@
 package com.sba301.group1.pes_be.confgs;
 
+import com.sba301.group1.pes_be.enums.Role;
 import com.sba301.group1.pes_be.enums.Status;
 import com.sba301.group1.pes_be.models.Account;
 import com.sba301.group1.pes_be.services.JWTService;
 import com.sba301.group1.pes_be.utils.CookieUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -11,6 +13,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -32,6 +35,13 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
 
+    private final AccountCache accountCache;
+
+    private final RevocationRegistry revocationRegistry;
+
+    @Value("${security-claims-trusted:false}")
+    private boolean claimsTrusted;
+
     @Override
     protected void doFilterInternal(
             @SuppressWarnings("null") @NonNull HttpServletRequest request,
@@ -51,23 +61,51 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String email = jwtService.extractEmailFromJWT(accessToken.getValue());
+        Claims claims = jwtService.extractClaimsFromJWT(accessToken.getValue());
+        String email = claims != null ? claims.getSubject() : null;
+        if (email != null && revocationRegistry.isRevoked(email, claims.getIssuedAt())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            Account account = (Account) userDetailsService.loadUserByUsername(email);
+            UsernamePasswordAuthenticationToken authToken = claimsTrusted
+                    ? authenticateFromClaims(email, claims)
+                    : authenticateFromAccount(email);
 
-            if (account == null || !account.getStatus().equals(Status.ACCOUNT_ACTIVE)) {
+            if (authToken == null) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    account, null, account.getAuthorities()
-            );
-
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authToken);
 
         }
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken authenticateFromAccount(String email) {
+        Account account = accountCache.get(email, key -> (Account) userDetailsService.loadUserByUsername(key));
+        if (account == null || !account.getStatus().equals(Status.ACCOUNT_ACTIVE)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(account, null, account.getAuthorities());
+    }
+
+    // Principal chi la email; service nao can Account thi tu load qua extractAccountFromCookie
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(String email, Claims claims) {
+        Object roleClaim = claims.get("role");
+        if (roleClaim == null) {
+            return null;
+        }
+
+        Role role;
+        try {
+            role = Role.valueOf(roleClaim.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(email, null, role.getAuthorities());
+    }
 }
@@ -0,0 +1,56 @@
+package com.sba301.group1.pes_be.confgs;
+
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.repositories.AccountRepo;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process list of revoked accounts keyed by email.
+ * Any token issued at or before the recorded cutoff is rejected, so a ban applies
+ * immediately even when the filter does not read the account status from the DB.
+ */
+@Component
+@RequiredArgsConstructor
+public class RevocationRegistry {
+
+    private final AccountRepo accountRepo;
+
+    private final Map<String, Long> cutoffs = new ConcurrentHashMap<>();
+
+    // Khi khoi dong, moi token cua account dang bi ban deu bi tu choi
+    @PostConstruct
+    void rebuild() {
+        long now = System.currentTimeMillis();
+        cutoffs.clear();
+        for (String email : accountRepo.findEmailsByStatus(Status.ACCOUNT_BAN)) {
+            cutoffs.put(email, now);
+        }
+    }
+
+    public void revoke(String email) {
+        if (email != null) {
+            cutoffs.put(email, System.currentTimeMillis());
+        }
+    }
+
+    public void restore(String email) {
+        if (email != null) {
+            cutoffs.remove(email);
+        }
+    }
+
+    public boolean isRevoked(String email, Date issuedAt) {
+        Long cutoff = cutoffs.get(email);
+        if (cutoff == null) {
+            return false;
+        }
+        // iat cua JWT chi chinh xac toi giay
+        return issuedAt == null || issuedAt.getTime() <= cutoff;
+    }
+}
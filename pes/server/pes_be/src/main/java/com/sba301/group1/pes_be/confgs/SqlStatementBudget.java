@@ -0,0 +1,183 @@
+package com.sba301.group1.pes_be.confgs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Interceptor;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Dem so cau SQL, so entity duoc load va thoi gian JDBC cua 1 request (theo thread),
+ * roi cong don theo endpoint (method + pattern cua handler).
+ * Chi dem khi {@link SqlStatementBudgetFilter} da goi {@link #begin()}; thread nen (outbox, scheduler) khong bi tinh.
+ * So lieu theo endpoint duoc ghi log dinh ky (chu ky {@code sql-statement-stats-interval}).
+ */
+@Slf4j
+@Component
+public class SqlStatementBudget implements StatementInspector, Interceptor, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<Counter> COUNTER = new ThreadLocal<>();
+
+    private final Map<String, EndpointCounter> endpoints = new ConcurrentHashMap<>();
+
+    // tong so request da log lan truoc, khong co request moi thi khong log lai
+    private final AtomicLong loggedRequests = new AtomicLong();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, this);
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimer.class.getName());
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counter counter = COUNTER.get();
+        if (counter != null) {
+            counter.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Counter counter = COUNTER.get();
+        if (counter != null) {
+            counter.entities++;
+        }
+        return false;
+    }
+
+    public void begin() {
+        COUNTER.set(new Counter());
+    }
+
+    // Tra ve so lieu tu luc begin() va ngung dem
+    public Usage end() {
+        Counter counter = COUNTER.get();
+        COUNTER.remove();
+        if (counter == null) {
+            return new Usage(0, 0, 0);
+        }
+        return new Usage(counter.statements, counter.entities, counter.jdbcNanos / 1_000_000);
+    }
+
+    // overBudget: request vuot sql-statement-budget, dem rieng de log/test doc lai
+    public void record(String endpoint, Usage usage, boolean overBudget) {
+        endpoints.computeIfAbsent(endpoint, k -> new EndpointCounter()).add(usage, overBudget);
+    }
+
+    // Snapshot theo endpoint, sap xep theo ten de de so sanh giua cac lan chay
+    public Map<String, EndpointStats> getEndpointStats() {
+        Map<String, EndpointStats> result = new TreeMap<>();
+        endpoints.forEach((endpoint, counter) -> result.put(endpoint, counter.snapshot()));
+        return result;
+    }
+
+    public void reset() {
+        endpoints.clear();
+        loggedRequests.set(0);
+    }
+
+    @Scheduled(fixedDelayString = "${sql-statement-stats-interval:300000}",
+            initialDelayString = "${sql-statement-stats-interval:300000}")
+    public void logEndpointStats() {
+        Map<String, EndpointStats> stats = getEndpointStats();
+        long requests = stats.values().stream().mapToLong(EndpointStats::requests).sum();
+        if (requests == loggedRequests.getAndSet(requests)) {
+            return;
+        }
+        stats.forEach((endpoint, s) -> log.info("{}: requests={}, avgStatements={}, maxStatements={}, overBudget={}, avgEntities={}, avgJdbcMillis={}",
+                endpoint, s.requests(), s.statements() / s.requests(), s.maxStatements(), s.overBudget(),
+                s.entities() / s.requests(), s.jdbcMillis() / s.requests()));
+    }
+
+    public record Usage(int statements, int entities, long jdbcMillis) {
+    }
+
+    public record EndpointStats(long requests, long statements, long maxStatements, long overBudget, long entities, long jdbcMillis) {
+    }
+
+    private static final class Counter {
+        int statements;
+        int entities;
+        long jdbcNanos;
+        long executeStartedAt;
+    }
+
+    private static final class EndpointCounter {
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong statements = new AtomicLong();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final AtomicLong overBudget = new AtomicLong();
+        final AtomicLong entities = new AtomicLong();
+        final AtomicLong jdbcMillis = new AtomicLong();
+
+        void add(Usage usage, boolean overBudget) {
+            requests.incrementAndGet();
+            if (overBudget) {
+                this.overBudget.incrementAndGet();
+            }
+            statements.addAndGet(usage.statements());
+            maxStatements.accumulate(usage.statements());
+            entities.addAndGet(usage.entities());
+            jdbcMillis.addAndGet(usage.jdbcMillis());
+        }
+
+        EndpointStats snapshot() {
+            return new EndpointStats(requests.get(), statements.get(), maxStatements.get(), overBudget.get(), entities.get(), jdbcMillis.get());
+        }
+    }
+
+    /**
+     * Hibernate tao 1 instance cho moi session (qua ten class), nen phai co constructor rong
+     * va ghi vao counter cua thread hien tai.
+     */
+    public static class JdbcTimer implements SessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            start();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            stop();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            start();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            stop();
+        }
+
+        private static void start() {
+            Counter counter = COUNTER.get();
+            if (counter != null) {
+                counter.executeStartedAt = System.nanoTime();
+            }
+        }
+
+        private static void stop() {
+            Counter counter = COUNTER.get();
+            if (counter != null && counter.executeStartedAt != 0) {
+                counter.jdbcNanos += System.nanoTime() - counter.executeStartedAt;
+                counter.executeStartedAt = 0;
+            }
+        }
+    }
+}
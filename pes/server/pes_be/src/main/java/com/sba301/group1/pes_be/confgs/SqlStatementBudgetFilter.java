@@ -0,0 +1,87 @@
+package com.sba301.group1.pes_be.confgs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Do so cau SQL / entity load / thoi gian JDBC cua tung request va ghi vao {@link SqlStatementBudget} theo endpoint.
+ * Khi bat {@code sql-statement-headers} (mac dinh tat), so lieu duoc tra them trong header X-Sql-*.
+ * Request chay qua {@code sql-statement-budget} cau SQL (0 = tat) duoc ghi vao so vi pham cua endpoint va tra 500
+ * thay cho body goc; test bat len de bat loi N+1 truoc khi release.
+ * Khi bat 1 trong 2, body duoc buffer nen response chua commit luc filter set header/doi status.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final SqlStatementBudget sqlStatementBudget;
+
+    @Value("${sql-statement-budget:0}")
+    private int budget;
+
+    @Value("${sql-statement-headers:false}")
+    private boolean headersEnabled;
+
+    @Override
+    protected void doFilterInternal(
+            @SuppressWarnings("null") @NonNull HttpServletRequest request,
+            @SuppressWarnings("null") @NonNull HttpServletResponse response,
+            @SuppressWarnings("null") @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper wrapper = headersEnabled || budget > 0 ? new ContentCachingResponseWrapper(response) : null;
+        sqlStatementBudget.begin();
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            SqlStatementBudget.Usage usage = sqlStatementBudget.end();
+
+            // Chi gom theo pattern cua handler (vd /api/v1/education/classes/{id}) de so endpoint khong tang theo URL
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = pattern != null ? request.getMethod() + " " + pattern : UNMAPPED;
+            boolean overBudget = budget > 0 && usage.statements() > budget;
+            sqlStatementBudget.record(endpoint, usage, overBudget);
+
+            if (wrapper != null) {
+                if (overBudget) {
+                    rejectOverBudget(wrapper, endpoint + " (" + request.getRequestURI() + ") executed "
+                            + usage.statements() + " SQL statements, budget is " + budget);
+                }
+                if (headersEnabled) {
+                    wrapper.setHeader("X-Sql-Statements", String.valueOf(usage.statements()));
+                    wrapper.setHeader("X-Sql-Entities", String.valueOf(usage.entities()));
+                    wrapper.setHeader("X-Sql-Time", String.valueOf(usage.jdbcMillis()));
+                }
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    // Body goc van nam trong buffer (chua gui cho client) nen con doi duoc status va noi dung
+    private static void rejectOverBudget(ContentCachingResponseWrapper wrapper, String message) throws IOException {
+        log.warn(message);
+        wrapper.resetBuffer();
+        wrapper.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        wrapper.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        wrapper.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        wrapper.getOutputStream().write(message.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,25 @@
+package com.sba301.group1.pes_be.confgs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class TimetableConfig {
+
+    // Xep lich cac nhom lop song song; chi tinh toan trong bo nho, khong dung EntityManager
+    @Bean(name = "timetableExecutor")
+    public ThreadPoolTaskExecutor timetableExecutor(@Value("${timetable-generator-workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("timetable-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.sba301.group1.pes_be.controllers;
 
+import com.sba301.group1.pes_be.dto.requests.AdmissionFormFilterRequest;
+import com.sba301.group1.pes_be.dto.requests.BulkProcessAdmissionFormRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateAdmissionTermRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateExtraTermRequest;
 import com.sba301.group1.pes_be.dto.requests.ProcessAdmissionFormRequest;
@@ -10,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -53,9 +56,21 @@ public class AdmissionController {
         return admissionService.viewAdmissionFormList();
     }
 
+    @GetMapping("/form/page")
+    @PreAuthorize("hasRole('admission')")
+    public ResponseEntity<ResponseObject> viewAdmissionFormPage(@ModelAttribute AdmissionFormFilterRequest request) {
+        return admissionService.viewAdmissionFormPage(request);
+    }
+
     @PutMapping("/form/process")
     @PreAuthorize("hasRole('admission')")
     public ResponseEntity<ResponseObject> processAdmissionFormList(@RequestBody ProcessAdmissionFormRequest request) {
         return admissionService.processAdmissionFormList(request);
     }
+
+    @PutMapping("/form/process/bulk")
+    @PreAuthorize("hasRole('admission')")
+    public ResponseEntity<ResponseObject> processAdmissionFormBulk(@RequestBody BulkProcessAdmissionFormRequest request) {
+        return admissionService.processAdmissionFormBulk(request);
+    }
 }
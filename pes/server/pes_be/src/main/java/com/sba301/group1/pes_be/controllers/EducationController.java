@@ -5,18 +5,22 @@ import com.sba301.group1.pes_be.dto.requests.ClassRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateActivitiesFromLessonsRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateActivityRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateScheduleRequest;
+import com.sba301.group1.pes_be.dto.requests.GenerateTimetableRequest;
 import com.sba301.group1.pes_be.dto.requests.LessonRequest;
 import com.sba301.group1.pes_be.dto.requests.StudentClassRequest;
 import com.sba301.group1.pes_be.dto.requests.SyllabusRequest;
 import com.sba301.group1.pes_be.dto.response.ResponseObject;
-import com.sba301.group1.pes_be.dto.response.RoomResponse;
-import java.util.List;
+import java.time.LocalDate;
 import com.sba301.group1.pes_be.dto.requests.UpdateActivityRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateScheduleRequest;
+import com.sba301.group1.pes_be.enums.VersionedAggregate;
 import com.sba301.group1.pes_be.services.EducationService;
+import com.sba301.group1.pes_be.services.ResponseVersionService;
+import com.sba301.group1.pes_be.services.TimetableService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -28,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("api/v1/education")
@@ -35,7 +40,15 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Education Management", description = "APIs for education role to manage activities and schedules")
 public class EducationController {
 
+    // version cac loai du lieu ma tung nhom GET phu thuoc, dung de tinh ETag
+    private static final VersionedAggregate[] TIMETABLE_VIEW = {VersionedAggregate.CLASS, VersionedAggregate.SCHEDULE, VersionedAggregate.SYLLABUS};
+    private static final VersionedAggregate[] CLASS_VIEW = {VersionedAggregate.CLASS, VersionedAggregate.SYLLABUS};
+    private static final VersionedAggregate[] SYLLABUS_VIEW = {VersionedAggregate.SYLLABUS};
+    private static final VersionedAggregate[] ROOM_VIEW = {VersionedAggregate.CLASS};
+
     private final EducationService educationService;
+    private final TimetableService timetableService;
+    private final ResponseVersionService responseVersionService;
 
     // Activity Management Methods
     @PostMapping("/activities")
@@ -57,22 +70,22 @@ public class EducationController {
     @GetMapping("/activities/{activityId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get activity by ID")
-    public ResponseEntity<ResponseObject> getActivityById(@PathVariable Integer activityId) {
-        return educationService.getActivityById(activityId);
+    public ResponseEntity<ResponseObject> getActivityById(@PathVariable Integer activityId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getActivityById(activityId), TIMETABLE_VIEW);
     }
 
     @GetMapping("/activities/schedule/{scheduleId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get all activities for a specific schedule")
-    public ResponseEntity<ResponseObject> getActivitiesByScheduleId(@PathVariable Integer scheduleId) {
-        return educationService.getActivitiesByScheduleId(scheduleId);
+    public ResponseEntity<ResponseObject> getActivitiesByScheduleId(@PathVariable Integer scheduleId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getActivitiesByScheduleId(scheduleId), TIMETABLE_VIEW);
     }
 
     @GetMapping("/activities/class/{classId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get all activities for a specific class")
-    public ResponseEntity<ResponseObject> getActivitiesByClassId(@PathVariable Integer classId) {
-        return educationService.getActivitiesByClassId(classId);
+    public ResponseEntity<ResponseObject> getActivitiesByClassId(@PathVariable Integer classId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getActivitiesByClassId(classId), TIMETABLE_VIEW);
     }
 
     @GetMapping("/activities/class/{classId}/day/{dayOfWeek}")
@@ -80,8 +93,9 @@ public class EducationController {
     @Operation(summary = "Get activities for a specific class and day of week")
     public ResponseEntity<ResponseObject> getActivitiesByClassAndDay(
             @PathVariable Integer classId,
-            @PathVariable String dayOfWeek) {
-        return educationService.getActivitiesByClassAndDay(classId, dayOfWeek);
+            @PathVariable String dayOfWeek,
+            WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getActivitiesByClassAndDay(classId, dayOfWeek), TIMETABLE_VIEW);
     }
 
 
@@ -117,15 +131,15 @@ public class EducationController {
     @GetMapping("/activities/lesson/{lessonId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get activities for a lesson")
-    public ResponseEntity<ResponseObject> getActivitiesByLessonId(@PathVariable Integer lessonId) {
-        return educationService.getActivitiesByLessonId(lessonId);
+    public ResponseEntity<ResponseObject> getActivitiesByLessonId(@PathVariable Integer lessonId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getActivitiesByLessonId(lessonId), TIMETABLE_VIEW);
     }
 
     @GetMapping("/activities")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get all activities")
-    public ResponseEntity<ResponseObject> getAllActivities() {
-        return educationService.getAllActivities();
+    public ResponseEntity<ResponseObject> getAllActivities(WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, educationService::getAllActivities, TIMETABLE_VIEW);
     }
 
     // Schedule Management Methods
@@ -155,15 +169,15 @@ public class EducationController {
     @GetMapping("/schedules/{scheduleId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get schedule by ID")
-    public ResponseEntity<ResponseObject> getScheduleById(@PathVariable Integer scheduleId) {
-        return educationService.getScheduleById(scheduleId);
+    public ResponseEntity<ResponseObject> getScheduleById(@PathVariable Integer scheduleId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getScheduleById(scheduleId), TIMETABLE_VIEW);
     }
 
     @GetMapping("/schedules/class/{classId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get all schedules for a specific class")
-    public ResponseEntity<ResponseObject> getSchedulesByClassId(@PathVariable Integer classId) {
-        return educationService.getSchedulesByClassId(classId);
+    public ResponseEntity<ResponseObject> getSchedulesByClassId(@PathVariable Integer classId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getSchedulesByClassId(classId), TIMETABLE_VIEW);
     }
 
     @GetMapping("/schedules/class/{classId}/week/{weekNumber}")
@@ -171,8 +185,9 @@ public class EducationController {
     @Operation(summary = "Get weekly schedule for a specific class and week")
     public ResponseEntity<ResponseObject> getWeeklySchedule(
             @PathVariable Integer classId,
-            @PathVariable int weekNumber) {
-        return educationService.getWeeklySchedule(classId, weekNumber);
+            @PathVariable int weekNumber,
+            WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getWeeklySchedule(classId, weekNumber), TIMETABLE_VIEW);
     }
 
     @DeleteMapping("/schedules/{scheduleId}")
@@ -185,58 +200,58 @@ public class EducationController {
     @GetMapping("/schedules")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get all schedules")
-    public ResponseEntity<ResponseObject> getAllSchedules() {
-        return educationService.getAllSchedules();
+    public ResponseEntity<ResponseObject> getAllSchedules(WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, educationService::getAllSchedules, TIMETABLE_VIEW);
     }
 
     // Classes Management Methods
     @GetMapping("/classes/{classId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get class by ID")
-    public ResponseEntity<ResponseObject> getClassById(@PathVariable Integer classId) {
-        return educationService.getClassById(classId);
+    public ResponseEntity<ResponseObject> getClassById(@PathVariable Integer classId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getClassById(classId), CLASS_VIEW);
     }
 
     @GetMapping("/classes/{classId}/syllabus")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get syllabus for a class")
-    public ResponseEntity<ResponseObject> getClassSyllabus(@PathVariable Integer classId) {
-        return educationService.getSyllabusByClassId(classId);
+    public ResponseEntity<ResponseObject> getClassSyllabus(@PathVariable Integer classId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getSyllabusByClassId(classId), CLASS_VIEW);
     }
 
     @GetMapping("/classes/{classId}/lessons")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get lessons for a class via syllabus")
-    public ResponseEntity<ResponseObject> getClassLessons(@PathVariable Integer classId) {
-        return educationService.getLessonsByClassId(classId);
+    public ResponseEntity<ResponseObject> getClassLessons(@PathVariable Integer classId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getLessonsByClassId(classId), CLASS_VIEW);
     }
 
     @GetMapping("/classes/status/{status}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get classes by status")
-    public ResponseEntity<ResponseObject> getClassesByStatus(@PathVariable String status) {
-        return educationService.getClassesByStatus(status);
+    public ResponseEntity<ResponseObject> getClassesByStatus(@PathVariable String status, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getClassesByStatus(status), CLASS_VIEW);
     }
 
     @GetMapping("/classes/teacher/{teacherId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get classes by teacher ID")
-    public ResponseEntity<ResponseObject> getClassesByTeacherId(@PathVariable Integer teacherId) {
-        return educationService.getClassesByTeacherId(teacherId);
+    public ResponseEntity<ResponseObject> getClassesByTeacherId(@PathVariable Integer teacherId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getClassesByTeacherId(teacherId), CLASS_VIEW);
     }
 
     @GetMapping("/classes/grade/{grade}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get classes by grade")
-    public ResponseEntity<ResponseObject> getClassesByGrade(@PathVariable String grade) {
-        return educationService.getClassesByGrade(grade);
+    public ResponseEntity<ResponseObject> getClassesByGrade(@PathVariable String grade, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getClassesByGrade(grade), CLASS_VIEW);
     }
 
     @GetMapping("/classes")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get all classes")
-    public ResponseEntity<ResponseObject> getAllClasses() {
-        return educationService.getAllClasses();
+    public ResponseEntity<ResponseObject> getAllClasses(WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, educationService::getAllClasses, CLASS_VIEW);
     }
 
     @PostMapping("/classes")
@@ -278,15 +293,15 @@ public class EducationController {
     @GetMapping("/lessons/{lessonId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get lesson by ID")
-    public ResponseEntity<ResponseObject> getLessonById(@PathVariable Integer lessonId) {
-        return educationService.getLessonById(lessonId);
+    public ResponseEntity<ResponseObject> getLessonById(@PathVariable Integer lessonId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getLessonById(lessonId), SYLLABUS_VIEW);
     }
 
     @GetMapping("/lessons/search")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Search lessons by topic")
-    public ResponseEntity<ResponseObject> getLessonsByTopic(@RequestParam String topic) {
-        return educationService.getLessonsByTopic(topic);
+    public ResponseEntity<ResponseObject> getLessonsByTopic(@RequestParam String topic, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getLessonsByTopic(topic), SYLLABUS_VIEW);
     }
 
     @PostMapping("/lessons")
@@ -313,65 +328,65 @@ public class EducationController {
     @GetMapping("/lessons/syllabus/{syllabusId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get lessons by syllabus ID")
-    public ResponseEntity<ResponseObject> getLessonsBySyllabus(@PathVariable Integer syllabusId) {
-        return educationService.getLessonsBySyllabusId(syllabusId);
+    public ResponseEntity<ResponseObject> getLessonsBySyllabus(@PathVariable Integer syllabusId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getLessonsBySyllabusId(syllabusId), SYLLABUS_VIEW);
     }
 
     @GetMapping("/lessons/class/{classId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get lessons by class ID")
-    public ResponseEntity<ResponseObject> getLessonsForClass(@PathVariable Integer classId) {
-        return educationService.getLessonsByClassId(classId);
+    public ResponseEntity<ResponseObject> getLessonsForClass(@PathVariable Integer classId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getLessonsByClassId(classId), CLASS_VIEW);
     }
 
     @GetMapping("/lessons")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get all lessons")
-    public ResponseEntity<ResponseObject> getAllLessons() {
-        return educationService.getAllLessons();
+    public ResponseEntity<ResponseObject> getAllLessons(WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, educationService::getAllLessons, SYLLABUS_VIEW);
     }
 
     @GetMapping("/lessons/{lessonId}/syllabi")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get syllabi for a lesson", description = "Retrieves all syllabi assigned to a specific lesson")
-    public ResponseEntity<ResponseObject> getSyllabiByLessonId(@PathVariable Integer lessonId) {
-        return educationService.getSyllabiByLessonId(lessonId);
+    public ResponseEntity<ResponseObject> getSyllabiByLessonId(@PathVariable Integer lessonId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getSyllabiByLessonId(lessonId), SYLLABUS_VIEW);
     }
 
     // Syllabus Viewing Methods
     @GetMapping("/syllabus/{syllabusId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get syllabus by ID")
-    public ResponseEntity<ResponseObject> getSyllabusById(@PathVariable Integer syllabusId) {
-        return educationService.getSyllabusById(syllabusId);
+    public ResponseEntity<ResponseObject> getSyllabusById(@PathVariable Integer syllabusId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getSyllabusById(syllabusId), SYLLABUS_VIEW);
     }
 
     @GetMapping("/syllabus/{syllabusId}/lessons")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get lessons for a syllabus")
-    public ResponseEntity<ResponseObject> getSyllabusLessons(@PathVariable Integer syllabusId) {
-        return educationService.getLessonsBySyllabusId(syllabusId);
+    public ResponseEntity<ResponseObject> getSyllabusLessons(@PathVariable Integer syllabusId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getLessonsBySyllabusId(syllabusId), SYLLABUS_VIEW);
     }
 
     @GetMapping("/syllabus/search")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Search syllabi by title")
-    public ResponseEntity<ResponseObject> getSyllabusByTitle(@RequestParam String title) {
-        return educationService.getSyllabusByTitle(title);
+    public ResponseEntity<ResponseObject> getSyllabusByTitle(@RequestParam String title, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getSyllabusByTitle(title), SYLLABUS_VIEW);
     }
 
     @GetMapping("/syllabus/class/{classId}")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get syllabus for a class")
-    public ResponseEntity<ResponseObject> getSyllabusForClass(@PathVariable Integer classId) {
-        return educationService.getSyllabusByClassId(classId);
+    public ResponseEntity<ResponseObject> getSyllabusForClass(@PathVariable Integer classId, WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getSyllabusByClassId(classId), CLASS_VIEW);
     }
 
     @GetMapping("/syllabus")
     @PreAuthorize("hasRole('education')")
     @Operation(summary = "Get all syllabi")
-    public ResponseEntity<ResponseObject> getAllSyllabi() {
-        return educationService.getAllSyllabi();
+    public ResponseEntity<ResponseObject> getAllSyllabi(WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, educationService::getAllSyllabi, SYLLABUS_VIEW);
     }
 
     @GetMapping("/teachers")
@@ -437,8 +452,18 @@ public class EducationController {
     
     @GetMapping("/rooms/availability")
     @PreAuthorize("hasRole('education')")
-    @Operation(summary = "Get room availability (1-20)", description = "Retrieves a list of rooms from 1 to 20 with their occupancy status.")
-    public ResponseEntity<List<RoomResponse>> getRoomAvailability(@RequestParam(required = false) Integer startYear) {
-        return educationService.getRoomAvailability(startYear);
+    @Operation(summary = "Get room availability", description = "Retrieves every room with its occupancy status for a start year, or for the date range [from, to] when both are given.")
+    public ResponseEntity<ResponseObject> getRoomAvailability(@RequestParam(required = false) Integer startYear,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                  WebRequest webRequest) {
+        return responseVersionService.conditional(webRequest, () -> educationService.getRoomAvailability(startYear, from, to), ROOM_VIEW);
+    }
+
+    @PostMapping("/timetable/generate")
+    @PreAuthorize("hasRole('education')")
+    @Operation(summary = "Generate timetables from syllabus", description = "Generates weekly schedules and activities for the whole school year of the selected classes (or every class starting in the given year), avoiding class, teacher and room conflicts.")
+    public ResponseEntity<ResponseObject> generateTimetable(@RequestBody GenerateTimetableRequest request) {
+        return timetableService.generateTimetable(request);
     }
 }
\ No newline at end of file
@@ -7,12 +7,15 @@ import com.sba301.group1.pes_be.dto.requests.SubmitAdmissionFormRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateChildRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateParentRequest;
 import com.sba301.group1.pes_be.dto.response.ResponseObject;
+import com.sba301.group1.pes_be.enums.VersionedAggregate;
 import com.sba301.group1.pes_be.services.ParentService;
+import com.sba301.group1.pes_be.services.ResponseVersionService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("api/v1/parent")
@@ -21,6 +24,8 @@ public class ParentController {
 
     private final ParentService parentService;
 
+    private final ResponseVersionService responseVersionService;
+
     @GetMapping("/form/list")
     @PreAuthorize("hasRole('parent')")
     public ResponseEntity<ResponseObject> viewAdmissionFormList(HttpServletRequest request) {
@@ -76,8 +81,19 @@ public class ParentController {
 
     @GetMapping("/student-class-weeks/{studentId}")
     @PreAuthorize("hasRole('parent')")
-    public ResponseEntity<ResponseObject> getStudentClassDetailsGroupedByWeek(@PathVariable int studentId, HttpServletRequest request) {
-        return parentService.getStudentClassDetailsGroupedByWeek(studentId, request);
+    public ResponseEntity<ResponseObject> getStudentClassDetailsGroupedByWeek(@PathVariable int studentId,
+                                                                             @RequestParam(required = false) Integer fromWeek,
+                                                                             @RequestParam(required = false) Integer toWeek,
+                                                                             HttpServletRequest request,
+                                                                             WebRequest webRequest) {
+        // Kiem tra quyen so huu truoc, de 304 khong tiet lo hoc sinh cua phu huynh khac
+        ResponseEntity<ResponseObject> denied = parentService.checkStudentAccess(studentId, request);
+        if (denied != null) {
+            return denied;
+        }
+        return responseVersionService.conditional(webRequest,
+                () -> parentService.getStudentClassDetailsGroupedByWeek(studentId, fromWeek, toWeek, request),
+                VersionedAggregate.CLASS, VersionedAggregate.SCHEDULE, VersionedAggregate.SYLLABUS);
     }
 //
 //    @GetMapping("/student-classes/{studentId}")
@@ -0,0 +1,33 @@
+package com.sba301.group1.pes_be.dto.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdmissionFormFilterRequest {
+    String status; // vd: "pending approval", "approved"
+    Integer termId;
+    String grade;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate fromDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate toDate;
+
+    // Cursor = (submittedDate, id) cua form cuoi cung o trang truoc
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate cursorDate;
+
+    Integer cursorId;
+
+    Integer size;
+}
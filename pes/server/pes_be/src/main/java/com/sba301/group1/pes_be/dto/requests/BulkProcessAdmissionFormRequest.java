@@ -0,0 +1,16 @@
+package com.sba301.group1.pes_be.dto.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkProcessAdmissionFormRequest {
+    List<ProcessAdmissionFormRequest> forms;
+}
@@ -0,0 +1,37 @@
+package com.sba301.group1.pes_be.dto.requests;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class GenerateTimetableRequest {
+
+    // Lop bat dau trong nam nay; bo qua khi co classIds
+    Integer year;
+
+    List<Integer> classIds;
+
+    // Mac dinh MONDAY..FRIDAY
+    List<String> days;
+
+    // HH:MM, mac dinh 08:00 - 16:00
+    String dayStartTime;
+
+    String dayEndTime;
+
+    // Nghi giua 2 tiet (phut)
+    Integer breakMinutes;
+
+    // true: xoa schedule/activity cu cua lop roi tao lai
+    boolean replaceExisting;
+}
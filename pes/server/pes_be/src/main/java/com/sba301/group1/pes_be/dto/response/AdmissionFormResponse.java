@@ -0,0 +1,35 @@
+package com.sba301.group1.pes_be.dto.response;
+
+import com.sba301.group1.pes_be.enums.Status;
+
+import java.time.LocalDate;
+
+public record AdmissionFormResponse(
+        Integer id,
+        Integer studentId,
+        String studentName,
+        String studentGender,
+        LocalDate studentDateOfBirth,
+        String studentPlaceOfBirth,
+        String profileImage,
+        String householdRegistrationAddress,
+        String householdRegistrationImg,
+        String birthCertificateImg,
+        String commitmentImg,
+        String childCharacteristicsFormImg,
+        LocalDate submittedDate,
+        String cancelReason,
+        String note,
+        String status
+) {
+    // Dung cho JPQL constructor projection: status tra ve dang value ("pending approval", ...)
+    public AdmissionFormResponse(Integer id, Integer studentId, String studentName, String studentGender,
+                                 LocalDate studentDateOfBirth, String studentPlaceOfBirth, String profileImage,
+                                 String householdRegistrationAddress, String householdRegistrationImg,
+                                 String birthCertificateImg, String commitmentImg, String childCharacteristicsFormImg,
+                                 LocalDate submittedDate, String cancelReason, String note, Status status) {
+        this(id, studentId, studentName, studentGender, studentDateOfBirth, studentPlaceOfBirth, profileImage,
+                householdRegistrationAddress, householdRegistrationImg, birthCertificateImg, commitmentImg,
+                childCharacteristicsFormImg, submittedDate, cancelReason, note, status != null ? status.getValue() : null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sba301.group1.pes_be.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sba301.group1.pes_be.enums.Grade;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record AdmissionTermResponse(
+        Integer id,
+        String name,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        int year,
+        int maxNumberRegistration,
+        long approvedForm,
+        long pendingForm,
+        long rejectedForm,
+        long cancelledForm,
+        Grade grade,
+        String status,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<ExtraTerm> extraTerms
+) {
+    public record ExtraTerm(
+            Integer id,
+            String name,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            int maxNumberRegistration,
+            long approvedForm,
+            long pendingForm,
+            long rejectedForm,
+            long cancelledForm,
+            String status
+    ) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.sba301.group1.pes_be.dto.response;
+
+import java.time.LocalDate;
+
+public record ChildResponse(
+        Integer id,
+        String name,
+        String gender,
+        LocalDate dateOfBirth,
+        String placeOfBirth,
+        String profileImage,
+        String birthCertificateImg,
+        String householdRegistrationImg,
+        LocalDate modifiedDate,
+        boolean isStudent,
+        boolean hadForm
+) {
+}
@@ -0,0 +1,13 @@
+package com.sba301.group1.pes_be.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sba301.group1.pes_be.enums.Grade;
+
+// studentId chi dung de gom nhom, response tra ve map studentId -> danh sach lop
+public record ClassAssignmentResponse(
+        @JsonIgnore Integer studentId,
+        Integer classId,
+        String className,
+        Grade classGrade
+) {
+}
@@ -0,0 +1,22 @@
+package com.sba301.group1.pes_be.dto.response;
+
+import com.sba301.group1.pes_be.enums.Status;
+
+import java.time.LocalDate;
+
+public record ParentResponse(
+        Integer id,
+        String job,
+        String relationshipToChild,
+        LocalDate dayOfBirth,
+        String status,
+        String address,
+        String name,
+        String phone
+) {
+    // Dung cho JPQL constructor projection: status cua account tra ve dang value
+    public ParentResponse(Integer id, String job, String relationshipToChild, LocalDate dayOfBirth,
+                          Status status, String address, String name, String phone) {
+        this(id, job, relationshipToChild, dayOfBirth, status != null ? status.getValue() : null, address, name, phone);
+    }
+}
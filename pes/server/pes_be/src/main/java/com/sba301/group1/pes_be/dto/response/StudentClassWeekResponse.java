@@ -0,0 +1,45 @@
+package com.sba301.group1.pes_be.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sba301.group1.pes_be.enums.Grade;
+import com.sba301.group1.pes_be.models.Syllabus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record StudentClassWeekResponse(
+        Integer classId,
+        String className,
+        Grade grade,
+        String room,
+        Syllabus syllabus,
+        List<Week> schedules
+) {
+    public record Week(
+            int weekNumber,
+            LocalDate startDate,
+            LocalDate endDate,
+            List<Lesson> lessons,
+            List<Activity> activities
+    ) {
+    }
+
+    public record Lesson(
+            Integer lessonId,
+            String topic,
+            String description
+    ) {
+    }
+
+    // type "lesson" lay topic/description tu lesson, type "extra" lay tu chinh activity
+    public record Activity(
+            String dayOfWeek,
+            String startTime,
+            String endTime,
+            String type,
+            @JsonInclude(JsonInclude.Include.NON_NULL) Integer lessonId,
+            String topic,
+            String description
+    ) {
+    }
+}
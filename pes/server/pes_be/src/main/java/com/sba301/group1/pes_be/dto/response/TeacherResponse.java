@@ -10,7 +10,6 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -65,12 +64,7 @@ public class TeacherResponse {
                     if (startYear == null) {
                         return true;
                     }
-                    try {
-                        LocalDate startDate = LocalDate.parse(classEntity.getStartDate(), DateTimeFormatter.ISO_LOCAL_DATE);
-                        return startDate.getYear() == startYear;
-                    } catch (Exception e) {
-                        return false;
-                    }
+                    return classEntity.getStartDate() != null && classEntity.getStartDate().getYear() == startYear;
                 })
                 .collect(Collectors.toList()) : java.util.Collections.emptyList();
 
@@ -0,0 +1,20 @@
+package com.sba301.group1.pes_be.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TermFormStatistics {
+    private Integer termId;
+    private long approved;
+    private long pending;
+    private long rejected;
+    private long cancelled;
+
+    public static TermFormStatistics empty(Integer termId) {
+        return new TermFormStatistics(termId, 0, 0, 0, 0);
+    }
+}
@@ -13,4 +13,13 @@ public enum Grade {
 
     private final String name;
     private final int age;
+
+    public static Grade fromAge(int age) {
+        for (Grade grade : Grade.values()) {
+            if (grade.age == age) {
+                return grade;
+            }
+        }
+        return null;
+    }
 }
@@ -21,7 +21,12 @@ public enum Status {
 
     ACTIVE_TERM("active"), // trong khoảng ngày cho phép
     INACTIVE_TERM("inactive"), // chưa đến ngày
-    LOCKED_TERM("locked");// đã hết ngày cho phép đăng ký
+    LOCKED_TERM("locked"),// đã hết ngày cho phép đăng ký
+
+    MAIL_PENDING("pending"), // chờ gửi / chờ retry
+    MAIL_SENDING("sending"), // đã được dispatcher nhận, giữ lease tới next_attempt_at
+    MAIL_SENT("sent"),
+    MAIL_DEAD("dead"); // retry quá số lần cho phép
 
     private final String value;
 
@@ -0,0 +1,15 @@
+package com.sba301.group1.pes_be.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum VersionedAggregate {
+
+    CLASS("c"),
+    SCHEDULE("s"),
+    SYLLABUS("y");
+
+    private final String tag;
+}
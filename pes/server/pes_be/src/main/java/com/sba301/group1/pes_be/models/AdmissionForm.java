@@ -10,8 +10,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -28,11 +30,15 @@ import java.time.LocalDate;
 @Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "`admission_form`")
+@Table(name = "`admission_form`", indexes = {
+        @Index(name = "idx_admission_form_submitted", columnList = "submitted_date, admission_form_id"),
+        @Index(name = "idx_admission_form_parent", columnList = "parent_id, submitted_date")
+})
 public class AdmissionForm {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admission_form_seq")
+    @SequenceGenerator(name = "admission_form_seq", sequenceName = "admission_form_seq", allocationSize = 50)
     @Column(name = "`admission_form_id`")
     Integer id;
 
@@ -56,6 +56,10 @@ public class AdmissionTerm {
     @Column(name = "`max_number_registration`")
     int maxNumberRegistration;
 
+    // so form dang giu cho (PENDING_APPROVAL + APPROVED), chi duoc tang/giam bang guarded UPDATE trong AdmissionTermRepo
+    @Column(name = "`reserved_count`", updatable = false)
+    Integer reservedCount;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 10)
     Grade grade;
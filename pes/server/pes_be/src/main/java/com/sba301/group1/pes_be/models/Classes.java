@@ -12,8 +12,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
@@ -25,6 +29,7 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -33,7 +38,19 @@ import java.util.List;
 @Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "`classes`")
+@Table(name = "`classes`", indexes = {
+        @Index(name = "idx_classes_teacher_start", columnList = "teacher_id, start_date"),
+        @Index(name = "idx_classes_room_start", columnList = "room_number, start_date")
+})
+// Account.parent la OneToOne EAGER phia mappedBy: khong join trong graph thi moi giao vien them 1 cau SELECT
+@NamedEntityGraph(name = "Classes.detail", attributeNodes = {
+        @NamedAttributeNode(value = "teacher", subgraph = "teacher"),
+        @NamedAttributeNode("syllabus"),
+        @NamedAttributeNode(value = "studentClassList", subgraph = "studentClass")
+}, subgraphs = {
+        @NamedSubgraph(name = "teacher", attributeNodes = @NamedAttributeNode("parent")),
+        @NamedSubgraph(name = "studentClass", attributeNodes = @NamedAttributeNode("student"))
+})
 public class Classes {
 
     @Id
@@ -51,10 +68,10 @@ public class Classes {
     String roomNumber;
 
     @Column(name = "`start_date`")
-    String startDate;
+    LocalDate startDate;
 
     @Column(name = "`end_date`")
-    String endDate;
+    LocalDate endDate;
 
     @Enumerated(EnumType.STRING)
     Status status;
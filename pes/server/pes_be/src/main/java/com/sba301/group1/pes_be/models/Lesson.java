@@ -8,6 +8,9 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
@@ -28,6 +31,8 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
 @Table(name = "`lesson`")
+@NamedEntityGraph(name = "Lesson.detail", attributeNodes = @NamedAttributeNode(value = "syllabusLessonList", subgraph = "syllabusLesson"),
+        subgraphs = @NamedSubgraph(name = "syllabusLesson", attributeNodes = @NamedAttributeNode("syllabus")))
 public class Lesson {
 
     @Id
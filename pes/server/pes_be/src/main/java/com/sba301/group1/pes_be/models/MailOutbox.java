@@ -0,0 +1,74 @@
+package com.sba301.group1.pes_be.models;
+
+import com.sba301.group1.pes_be.enums.Status;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "`mail_outbox`", indexes = {
+        @Index(name = "idx_mail_outbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_mail_outbox_claim_token", columnList = "claim_token")
+})
+public class MailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mail_outbox_seq")
+    @SequenceGenerator(name = "mail_outbox_seq", sequenceName = "mail_outbox_seq", allocationSize = 50)
+    @Column(name = "`mail_outbox_id`")
+    Integer id;
+
+    @Column(length = 150)
+    String recipient;
+
+    @Column(length = 150)
+    String subject;
+
+    @Column(length = 150)
+    String heading;
+
+    @Column(columnDefinition = "NVARCHAR(MAX)")
+    String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    Status status;
+
+    int attempts;
+
+    @Column(name = "`next_attempt_at`")
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "`last_error`", length = 255)
+    String lastError;
+
+    @Column(name = "`created_at`")
+    LocalDateTime createdAt;
+
+    @Column(name = "`sent_at`")
+    LocalDateTime sentAt;
+
+    // dispatcher dang giu mail (MAIL_SENDING), het lease thi mail duoc claim lai
+    @Column(name = "`claim_token`", length = 36)
+    String claimToken;
+}
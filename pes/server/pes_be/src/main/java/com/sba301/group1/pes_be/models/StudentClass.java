@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
@@ -30,7 +31,8 @@ import lombok.experimental.FieldDefaults;
 public class StudentClass {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_class_seq")
+    @SequenceGenerator(name = "student_class_seq", sequenceName = "student_class_seq", allocationSize = 50)
     @Column(name = "`student_class_id`")
     Integer id;
 
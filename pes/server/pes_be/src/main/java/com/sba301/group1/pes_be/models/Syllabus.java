@@ -8,6 +8,9 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
@@ -28,6 +31,9 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
 @Table(name = "`syllabus`")
+// classesList de batch fetch load, fetch join 2 List cung luc se bi MultipleBagFetchException
+@NamedEntityGraph(name = "Syllabus.detail", attributeNodes = @NamedAttributeNode(value = "syllabusLessonList", subgraph = "syllabusLesson"),
+        subgraphs = @NamedSubgraph(name = "syllabusLesson", attributeNodes = @NamedAttributeNode("lesson")))
 public class Syllabus {
 
     @Id
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -27,7 +28,8 @@ import lombok.experimental.FieldDefaults;
 public class SyllabusLesson {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "syllabus_lesson_seq")
+    @SequenceGenerator(name = "syllabus_lesson_seq", sequenceName = "syllabus_lesson_seq", allocationSize = 50)
     @Column(name = "`syllabus_lesson_id`")
     Integer id;
 
@@ -3,6 +3,7 @@ package com.sba301.group1.pes_be.repositories;
 import com.sba301.group1.pes_be.enums.Status;
 import com.sba301.group1.pes_be.models.Account;
 import com.sba301.group1.pes_be.enums.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,8 +16,16 @@ public interface AccountRepo extends JpaRepository<Account, Integer> {
     Optional<Account> findByEmailAndStatus(String email, Status status);
     boolean existsByEmail(String email);
     
-    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.classesList WHERE a.role = :role")
+    // parent la OneToOne EAGER phia mappedBy, khong fetch cung query thi moi account them 1 cau select
+    @Query("SELECT DISTINCT a FROM Account a LEFT JOIN FETCH a.classesList LEFT JOIN FETCH a.parent WHERE a.role = :role")
     List<Account> findByRoleWithClasses(@Param("role") Role role);
 
+    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.classesList WHERE a.id = :id")
+    Optional<Account> findByIdWithClasses(@Param("id") Integer id);
+
+    @EntityGraph(attributePaths = "parent")
     List<Account> findAllByRole(Role role);
+
+    @Query("SELECT a.email FROM Account a WHERE a.status = :status")
+    List<String> findEmailsByStatus(@Param("status") Status status);
 }
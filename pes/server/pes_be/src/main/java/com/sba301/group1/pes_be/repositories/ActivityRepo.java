@@ -1,26 +1,105 @@
 package com.sba301.group1.pes_be.repositories;
 
 import com.sba301.group1.pes_be.models.Activity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ActivityRepo extends JpaRepository<Activity, Integer> {
     
     List<Activity> findByScheduleId(Integer scheduleId);
+
+    // Cac ham co graph "Activity.detail" load san lesson + schedule + class cho ActivityResponse
+    @EntityGraph("Activity.detail")
+    Optional<Activity> findDetailById(Integer id);
+
+    @EntityGraph("Activity.detail")
+    @Query("SELECT a FROM Activity a")
+    List<Activity> findAllWithDetail();
     
+    @EntityGraph("Activity.detail")
     @Query("SELECT a FROM Activity a WHERE a.schedule.classes.id = :classId")
     List<Activity> findByClassId(@Param("classId") Integer classId);
     
-    @Query("SELECT a FROM Activity a LEFT JOIN FETCH a.lesson WHERE a.schedule.id = :scheduleId ORDER BY a.dayOfWeek, a.startTime")
+    @EntityGraph("Activity.detail")
+    @Query("SELECT a FROM Activity a WHERE a.schedule.id = :scheduleId ORDER BY a.dayOfWeek, a.startTime")
     List<Activity> findByScheduleIdOrderByDayAndTime(@Param("scheduleId") Integer scheduleId);
     
+    @EntityGraph("Activity.detail")
     @Query("SELECT a FROM Activity a WHERE a.schedule.classes.id = :classId AND a.dayOfWeek = :dayOfWeek")
     List<Activity> findByClassIdAndDayOfWeek(@Param("classId") Integer classId, @Param("dayOfWeek") String dayOfWeek);
     
+    @EntityGraph("Activity.detail")
     List<Activity> findByLessonId(Integer lessonId);
+
+    // Hoat dong co the trung voi tuan [from, to]: cung thu va giao nhau voi khung gio [minStart, maxEnd) (gio HH:MM so sanh theo chuoi),
+    // thuoc cung schedule, hoac cung giao vien/phong ma tuan cua schedule (ngay bat dau lop + weekNumber - 1 tuan) giao voi [from, to]
+    @Query("SELECT a.id AS id, a.topic AS topic, a.dayOfWeek AS dayOfWeek, a.startTime AS startTime, a.endTime AS endTime, " +
+            "s.id AS scheduleId, s.weekNumber AS weekNumber, c.id AS classId, c.name AS className, c.startDate AS classStartDate, " +
+            "t.id AS teacherId, c.roomNumber AS roomNumber " +
+            "FROM Activity a JOIN a.schedule s JOIN s.classes c LEFT JOIN c.teacher t " +
+            "WHERE UPPER(TRIM(a.dayOfWeek)) IN :days AND TRIM(a.startTime) < :maxEnd AND TRIM(a.endTime) > :minStart " +
+            "AND (s.id = :scheduleId " +
+            "OR ((t.id = :teacherId OR c.roomNumber = :roomNumber) " +
+            "AND c.startDate + (7 * (s.weekNumber - 1)) day BETWEEN :weekFrom AND :to))")
+    List<ActivitySlot> findConflictCandidates(@Param("scheduleId") Integer scheduleId,
+                                              @Param("teacherId") Integer teacherId,
+                                              @Param("roomNumber") String roomNumber,
+                                              @Param("days") Collection<String> days,
+                                              @Param("minStart") String minStart,
+                                              @Param("maxEnd") String maxEnd,
+                                              @Param("weekFrom") LocalDate weekFrom,
+                                              @Param("to") LocalDate to);
+
+    // Hoat dong cua cac lop khac dung chung giao vien/phong, dang hoc trong khoang [from, to]
+    @Query("SELECT a.id AS id, a.topic AS topic, a.dayOfWeek AS dayOfWeek, a.startTime AS startTime, a.endTime AS endTime, " +
+            "s.id AS scheduleId, s.weekNumber AS weekNumber, c.id AS classId, c.name AS className, c.startDate AS classStartDate, " +
+            "t.id AS teacherId, c.roomNumber AS roomNumber " +
+            "FROM Activity a JOIN a.schedule s JOIN s.classes c LEFT JOIN c.teacher t " +
+            "WHERE c.id NOT IN :excludedClassIds AND (t.id IN :teacherIds OR c.roomNumber IN :roomNumbers) " +
+            "AND c.startDate <= :to AND c.endDate >= :from")
+    List<ActivitySlot> findBusySlots(@Param("teacherIds") Collection<Integer> teacherIds,
+                                     @Param("roomNumbers") Collection<String> roomNumbers,
+                                     @Param("excludedClassIds") Collection<Integer> excludedClassIds,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM Activity a WHERE a.schedule.id IN (SELECT s.id FROM Schedule s WHERE s.classes.id IN :classIds)")
+    int deleteByClassesIdIn(@Param("classIds") Collection<Integer> classIds);
+
+    interface ActivitySlot {
+        Integer getId();
+
+        String getTopic();
+
+        String getDayOfWeek();
+
+        String getStartTime();
+
+        String getEndTime();
+
+        Integer getScheduleId();
+
+        Integer getWeekNumber();
+
+        Integer getClassId();
+
+        String getClassName();
+
+        LocalDate getClassStartDate();
+
+        Integer getTeacherId();
+
+        String getRoomNumber();
+    }
 }
\ No newline at end of file
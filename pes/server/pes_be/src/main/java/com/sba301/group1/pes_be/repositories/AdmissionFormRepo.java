@@ -1,13 +1,85 @@
 package com.sba301.group1.pes_be.repositories;
 
+import com.sba301.group1.pes_be.dto.response.AdmissionFormResponse;
+import com.sba301.group1.pes_be.dto.response.TermFormStatistics;
+import com.sba301.group1.pes_be.enums.Grade;
 import com.sba301.group1.pes_be.enums.Status;
 import com.sba301.group1.pes_be.models.AdmissionForm;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface AdmissionFormRepo extends JpaRepository<AdmissionForm, Integer> {
+    // cot chung cua AdmissionFormResponse (alias f = form, s = student), status them o cuoi
+    String FORM_COLUMNS = "f.id, s.id, s.name, s.gender, s.dateOfBirth, s.placeOfBirth, s.profileImage, " +
+            "f.householdRegistrationAddress, s.householdRegistrationImg, s.birthCertificateImg, " +
+            "f.commitmentImg, f.childCharacteristicsFormImg, f.submittedDate, f.cancelReason, f.note, ";
+
+    // form chua co submittedDate duoc xep sau cung nhu ngay nay, de keyset cursor van di qua cac form do
+    String UNSUBMITTED_DATE = "1900-01-01";
+
+    String SORT_DATE = "COALESCE(f.submittedDate, CAST('" + UNSUBMITTED_DATE + "' AS LocalDate))";
+
     List<AdmissionForm> findAllByParent_IdAndStudent_Id(int parentId, int studentId);
 
+    @EntityGraph(attributePaths = "student")
     List<AdmissionForm> findAllByStatusAndStudentIsStudent(Status status, boolean isStudent);
+
+    long countByAdmissionTerm_IdAndStatus(int admissionTermId, Status status);
+
+    // Load 1 lan cho bulk approve/reject: form + student + parent + account (de gui mail)
+    @Query("SELECT f FROM AdmissionForm f " +
+            "JOIN FETCH f.student s " +
+            "JOIN FETCH f.parent p " +
+            "JOIN FETCH p.account a " +
+            "LEFT JOIN FETCH f.admissionTerm t " +
+            "WHERE f.id IN :ids")
+    List<AdmissionForm> findAllByIdInForProcessing(@Param("ids") Collection<Integer> ids);
+
+    // Thong ke so form theo tung status cho tat ca term (ke ca extra term) trong 1 query
+    @Query("SELECT new com.sba301.group1.pes_be.dto.response.TermFormStatistics(f.admissionTerm.id, " +
+            "SUM(CASE WHEN f.status = com.sba301.group1.pes_be.enums.Status.APPROVED THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN f.status = com.sba301.group1.pes_be.enums.Status.PENDING_APPROVAL THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN f.status = com.sba301.group1.pes_be.enums.Status.REJECTED THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN f.status = com.sba301.group1.pes_be.enums.Status.CANCELLED THEN 1 ELSE 0 END)) " +
+            "FROM AdmissionForm f " +
+            "WHERE f.admissionTerm IS NOT NULL " +
+            "GROUP BY f.admissionTerm.id")
+    List<TermFormStatistics> countFormStatisticsGroupByTerm();
+
+    // status giu ten enum (CAST ra chuoi luu trong DB) nhu response cu cua parent
+    @Query("SELECT new com.sba301.group1.pes_be.dto.response.AdmissionFormResponse(" + FORM_COLUMNS + "CAST(f.status AS String)) " +
+            "FROM AdmissionForm f " +
+            "JOIN f.student s " +
+            "WHERE f.parent.id = :parentId " +
+            "ORDER BY f.submittedDate DESC, f.id DESC")
+    List<AdmissionFormResponse> findAllByParentIdAsResponse(@Param("parentId") int parentId);
+
+    // Keyset pagination theo (submittedDate, id) giam dan, select thang ra DTO trong 1 query
+    @Query("SELECT new com.sba301.group1.pes_be.dto.response.AdmissionFormResponse(" + FORM_COLUMNS + "f.status) " +
+            "FROM AdmissionForm f " +
+            "JOIN f.student s " +
+            "LEFT JOIN f.admissionTerm t " +
+            "WHERE (:status IS NULL OR f.status = :status) " +
+            "AND (:termId IS NULL OR t.id = :termId) " +
+            "AND (:grade IS NULL OR t.grade = :grade) " +
+            "AND (:fromDate IS NULL OR f.submittedDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR f.submittedDate <= :toDate) " +
+            "AND (:cursorDate IS NULL OR " + SORT_DATE + " < :cursorDate " +
+            "     OR (" + SORT_DATE + " = :cursorDate AND f.id < :cursorId)) " +
+            "ORDER BY " + SORT_DATE + " DESC, f.id DESC")
+    List<AdmissionFormResponse> findFormPage(@Param("status") Status status,
+                                             @Param("termId") Integer termId,
+                                             @Param("grade") Grade grade,
+                                             @Param("fromDate") LocalDate fromDate,
+                                             @Param("toDate") LocalDate toDate,
+                                             @Param("cursorDate") LocalDate cursorDate,
+                                             @Param("cursorId") Integer cursorId,
+                                             Pageable pageable);
 }
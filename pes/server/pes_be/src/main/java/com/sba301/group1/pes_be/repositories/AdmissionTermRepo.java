@@ -1,8 +1,12 @@
 package com.sba301.group1.pes_be.repositories;
 
 import com.sba301.group1.pes_be.enums.Grade;
+import com.sba301.group1.pes_be.enums.Status;
 import com.sba301.group1.pes_be.models.AdmissionTerm;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -10,4 +14,20 @@ public interface AdmissionTermRepo extends JpaRepository<AdmissionTerm, Integer>
     List<AdmissionTerm> findByGrade(Grade grade);
     long countByYearAndGrade(int year, Grade grade);
     List<AdmissionTerm> findAllByParentTerm_Id(int parentTermId);
+    List<AdmissionTerm> findAllByStatusNot(Status status);
+    List<AdmissionTerm> findAllByStatus(Status status);
+
+    // Tang reserved_count trong 1 cau UPDATE co dieu kien: chi thanh cong khi con cho
+    @Modifying
+    @Query(value = "UPDATE admission_term SET reserved_count = COALESCE(reserved_count, 0) + 1 " +
+            "WHERE admission_term_id = :termId AND COALESCE(reserved_count, 0) < max_number_registration",
+            nativeQuery = true)
+    int tryReserveSlot(@Param("termId") int termId);
+
+    @Modifying
+    @Query(value = "UPDATE admission_term SET reserved_count = " +
+            "CASE WHEN reserved_count > :count THEN reserved_count - :count ELSE 0 END " +
+            "WHERE admission_term_id = :termId AND reserved_count > 0",
+            nativeQuery = true)
+    int releaseSlots(@Param("termId") int termId, @Param("count") int count);
 }
@@ -1,18 +1,29 @@
 package com.sba301.group1.pes_be.repositories;
 
 import com.sba301.group1.pes_be.enums.Grade;
+import com.sba301.group1.pes_be.enums.Status;
 import com.sba301.group1.pes_be.models.Classes;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ClassesRepo extends JpaRepository<Classes, Integer> {
     
-    List<Classes> findByStatus(String status);
+    List<Classes> findByStatus(Status status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Classes c WHERE c.id = :id")
+    Optional<Classes> findByIdForUpdate(@Param("id") Integer id);
     
     List<Classes> findByTeacherId(Integer teacherId);
     
@@ -27,22 +38,45 @@ public interface ClassesRepo extends JpaRepository<Classes, Integer> {
     
     boolean existsByNameAndIdNot(String name, Integer id);
     
-    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN TRUE ELSE FALSE END FROM Classes c WHERE c.teacher.id = :teacherId AND SUBSTRING(c.startDate, 1, 4) = :year")
-    boolean existsByTeacherAndYear(@Param("teacherId") Integer teacherId, @Param("year") String year);
+    // Nam duoc truyen dang khoang [yearStart, nextYearStart) de dung index (teacher_id/room_number, start_date)
+    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN TRUE ELSE FALSE END FROM Classes c WHERE c.teacher.id = :teacherId AND c.startDate >= :yearStart AND c.startDate < :nextYearStart")
+    boolean existsByTeacherAndYear(@Param("teacherId") Integer teacherId, @Param("yearStart") LocalDate yearStart, @Param("nextYearStart") LocalDate nextYearStart);
 
-    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN TRUE ELSE FALSE END FROM Classes c WHERE c.roomNumber = :roomNumber AND SUBSTRING(c.startDate, 1, 4) = :year")
-    boolean existsByRoomNumberAndYear(@Param("roomNumber") String roomNumber, @Param("year") String year);
+    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN TRUE ELSE FALSE END FROM Classes c WHERE c.roomNumber = :roomNumber AND c.startDate >= :yearStart AND c.startDate < :nextYearStart")
+    boolean existsByRoomNumberAndYear(@Param("roomNumber") String roomNumber, @Param("yearStart") LocalDate yearStart, @Param("nextYearStart") LocalDate nextYearStart);
 
-    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN TRUE ELSE FALSE END FROM Classes c WHERE c.teacher.id = :teacherId AND SUBSTRING(c.startDate, 1, 4) = :year AND c.id <> :classId")
-    boolean existsByTeacherAndYearAndIdNot(@Param("teacherId") Integer teacherId, @Param("year") String year, @Param("classId") Integer classId);
+    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN TRUE ELSE FALSE END FROM Classes c WHERE c.teacher.id = :teacherId AND c.startDate >= :yearStart AND c.startDate < :nextYearStart AND c.id <> :classId")
+    boolean existsByTeacherAndYearAndIdNot(@Param("teacherId") Integer teacherId, @Param("yearStart") LocalDate yearStart, @Param("nextYearStart") LocalDate nextYearStart, @Param("classId") Integer classId);
 
-    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN TRUE ELSE FALSE END FROM Classes c WHERE c.roomNumber = :roomNumber AND SUBSTRING(c.startDate, 1, 4) = :year AND c.id <> :classId")
-    boolean existsByRoomNumberAndYearAndIdNot(@Param("roomNumber") String roomNumber, @Param("year") String year, @Param("classId") Integer classId);
+    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN TRUE ELSE FALSE END FROM Classes c WHERE c.roomNumber = :roomNumber AND c.startDate >= :yearStart AND c.startDate < :nextYearStart AND c.id <> :classId")
+    boolean existsByRoomNumberAndYearAndIdNot(@Param("roomNumber") String roomNumber, @Param("yearStart") LocalDate yearStart, @Param("nextYearStart") LocalDate nextYearStart, @Param("classId") Integer classId);
 
     // Add query to fetch classes with all relationships including students
-    @Query("SELECT DISTINCT c FROM Classes c LEFT JOIN FETCH c.teacher LEFT JOIN FETCH c.syllabus LEFT JOIN FETCH c.studentClassList")
+    @EntityGraph("Classes.detail")
+    @Query("SELECT c FROM Classes c")
     List<Classes> findAllWithFullDetails();
     
-    @Query("SELECT c FROM Classes c LEFT JOIN FETCH c.teacher LEFT JOIN FETCH c.syllabus LEFT JOIN FETCH c.studentClassList WHERE c.id = :id")
+    @EntityGraph("Classes.detail")
+    @Query("SELECT c FROM Classes c WHERE c.id = :id")
     Classes findByIdWithFullDetails(@Param("id") Integer id);
+
+    @Query("SELECT c FROM Classes c LEFT JOIN FETCH c.teacher LEFT JOIN FETCH c.syllabus WHERE c.id IN :ids")
+    List<Classes> findAllForTimetableByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT c FROM Classes c LEFT JOIN FETCH c.teacher LEFT JOIN FETCH c.syllabus WHERE c.startDate >= :yearStart AND c.startDate < :nextYearStart")
+    List<Classes> findAllForTimetableByYear(@Param("yearStart") LocalDate yearStart, @Param("nextYearStart") LocalDate nextYearStart);
+
+    @Query("SELECT c FROM Classes c LEFT JOIN FETCH c.syllabus WHERE c.id IN (SELECT sc.classes.id FROM StudentClass sc WHERE sc.student.id = :studentId) ORDER BY c.id")
+    List<Classes> findAllByStudentIdWithSyllabus(@Param("studentId") Integer studentId);
+
+    @Query("SELECT c.roomNumber AS roomNumber, c.startDate AS startDate, c.endDate AS endDate FROM Classes c WHERE c.roomNumber IS NOT NULL")
+    List<RoomSlot> findRoomSlots();
+
+    interface RoomSlot {
+        String getRoomNumber();
+
+        LocalDate getStartDate();
+
+        LocalDate getEndDate();
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.sba301.group1.pes_be.repositories;
 
 import com.sba301.group1.pes_be.models.Lesson;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +12,13 @@ import java.util.Optional;
 
 @Repository
 public interface LessonRepo extends JpaRepository<Lesson, Integer> {
+
+    @EntityGraph("Lesson.detail")
+    Optional<Lesson> findDetailById(Integer id);
+
+    @EntityGraph("Lesson.detail")
+    @Query("SELECT l FROM Lesson l")
+    List<Lesson> findAllWithDetail();
     
     @Query("SELECT l FROM Lesson l WHERE l.topic LIKE %:topic%")
     List<Lesson> findByTopicContaining(@Param("topic") String topic);
@@ -21,6 +29,7 @@ public interface LessonRepo extends JpaRepository<Lesson, Integer> {
            "ORDER BY sl.id")
     List<Lesson> findBySyllabusId(@Param("syllabusId") Integer syllabusId);
     
+    @EntityGraph("Lesson.detail")
     @Query("SELECT l FROM Lesson l " +
            "JOIN l.syllabusLessonList sl " +
            "JOIN sl.syllabus s " +
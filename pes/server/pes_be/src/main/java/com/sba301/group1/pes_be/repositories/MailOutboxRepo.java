@@ -0,0 +1,36 @@
+package com.sba301.group1.pes_be.repositories;
+
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.MailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MailOutboxRepo extends JpaRepository<MailOutbox, Integer> {
+
+    // mail den han: MAIL_PENDING toi luot gui, hoac MAIL_SENDING het lease (dispatcher truoc da chet giua chung)
+    @Query("SELECT m.id FROM MailOutbox m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<Integer> findDueIds(@Param("statuses") Collection<Status> statuses, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Claim trong 1 cau UPDATE co dieu kien: dong nao da bi dispatcher khac claim thi khong con den han,
+    // nen moi mail chi thuoc ve 1 token
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = :sending, m.nextAttemptAt = :leaseUntil, m.claimToken = :token " +
+            "WHERE m.id IN :ids AND m.status IN :statuses AND m.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Integer> ids,
+              @Param("statuses") Collection<Status> statuses,
+              @Param("now") LocalDateTime now,
+              @Param("sending") Status sending,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("token") String token);
+
+    List<MailOutbox> findAllByClaimTokenAndStatus(String claimToken, Status status);
+}
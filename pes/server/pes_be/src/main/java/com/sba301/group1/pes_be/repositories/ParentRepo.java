@@ -1,10 +1,17 @@
 package com.sba301.group1.pes_be.repositories;
 
+import com.sba301.group1.pes_be.dto.response.ParentResponse;
 import com.sba301.group1.pes_be.models.Parent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ParentRepo extends JpaRepository<Parent, Integer> {
     Optional<Parent> findByAccount_Id(int id);
+
+    @Query("SELECT new com.sba301.group1.pes_be.dto.response.ParentResponse(p.id, p.job, p.relationshipToChild, p.dayOfBirth, " +
+            "a.status, p.address, a.name, a.phone) FROM Parent p JOIN p.account a ORDER BY p.id")
+    List<ParentResponse> findAllAsResponse();
 }
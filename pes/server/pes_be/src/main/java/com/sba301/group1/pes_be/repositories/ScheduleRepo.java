@@ -1,19 +1,28 @@
 package com.sba301.group1.pes_be.repositories;
 
 import com.sba301.group1.pes_be.models.Schedule;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ScheduleRepo extends JpaRepository<Schedule, Integer> {
+    @EntityGraph("Schedule.detail")
+    Optional<Schedule> findDetailById(Integer id);
+
+    @EntityGraph("Schedule.detail")
     @Query("SELECT s FROM Schedule s WHERE s.classes.id = :classId AND s.weekNumber = :weekNumber")
     Optional<Schedule> findByClassesIdAndWeekNumber(@Param("classId") Integer classId, @Param("weekNumber") int weekNumber);
     
+    @EntityGraph("Schedule.detail")
     @Query("SELECT s FROM Schedule s WHERE s.classes.id = :classId ORDER BY s.weekNumber")
     List<Schedule> findByClassesIdOrderByWeekNumber(@Param("classId") Integer classId);
     
@@ -21,4 +30,17 @@ public interface ScheduleRepo extends JpaRepository<Schedule, Integer> {
     List<Schedule> findAllWithActivitiesAndClasses();
 
     List<Schedule> findByClassesId(Integer classId);
+
+    @Query("SELECT DISTINCT s FROM Schedule s LEFT JOIN FETCH s.activities a LEFT JOIN FETCH a.lesson " +
+            "WHERE s.classes.id IN :classIds AND s.weekNumber BETWEEN :fromWeek AND :toWeek ORDER BY s.weekNumber, a.id")
+    List<Schedule> findAllWithActivitiesByClassIdsAndWeekRange(@Param("classIds") Collection<Integer> classIds,
+                                                               @Param("fromWeek") int fromWeek,
+                                                               @Param("toWeek") int toWeek);
+
+    @Query("SELECT DISTINCT s.classes.id FROM Schedule s WHERE s.classes.id IN :classIds")
+    Set<Integer> findClassIdsWithSchedules(@Param("classIds") Collection<Integer> classIds);
+
+    @Modifying
+    @Query("DELETE FROM Schedule s WHERE s.classes.id IN :classIds")
+    int deleteByClassesIdIn(@Param("classIds") Collection<Integer> classIds);
 }
\ No newline at end of file
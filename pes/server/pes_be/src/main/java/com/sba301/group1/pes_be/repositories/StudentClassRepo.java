@@ -1,9 +1,12 @@
 package com.sba301.group1.pes_be.repositories;
 
+import com.sba301.group1.pes_be.dto.response.ClassAssignmentResponse;
 import com.sba301.group1.pes_be.models.StudentClass;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,8 +14,14 @@ import java.util.Optional;
 public interface StudentClassRepo extends JpaRepository<StudentClass, Integer> {
     
     List<StudentClass> findByStudentId(Integer studentId);
+
+    List<StudentClass> findByStudentIdIn(Collection<Integer> studentIds);
     
     List<StudentClass> findByClassesId(Integer classesId);
     
     Optional<StudentClass> findByStudentIdAndClassesId(Integer studentId, Integer classesId);
+
+    @Query("SELECT new com.sba301.group1.pes_be.dto.response.ClassAssignmentResponse(sc.student.id, c.id, c.name, c.grade) " +
+            "FROM StudentClass sc JOIN sc.classes c ORDER BY sc.id")
+    List<ClassAssignmentResponse> findAllAssignments();
 }
\ No newline at end of file
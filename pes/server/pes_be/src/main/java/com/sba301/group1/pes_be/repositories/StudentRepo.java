@@ -1,11 +1,29 @@
 package com.sba301.group1.pes_be.repositories;
 
 
+import com.sba301.group1.pes_be.dto.response.ChildResponse;
 import com.sba301.group1.pes_be.models.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface StudentRepo extends JpaRepository<Student, Integer> {
     List<Student> findAllByParent_Id(int id);
+
+    // cac cot sau gender cua ChildResponse; hadForm tinh bang EXISTS, khong load admissionFormList cua tung hoc sinh
+    String CHILD_COLUMNS = "s.dateOfBirth, s.placeOfBirth, s.profileImage, s.birthCertificateImg, s.householdRegistrationImg, " +
+            "s.modifiedDate, s.isStudent, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM AdmissionForm f WHERE f.student.id = s.id) THEN true ELSE false END) " +
+            "FROM Student s WHERE s.parent.id = :parentId ";
+
+    @Query("SELECT new com.sba301.group1.pes_be.dto.response.ChildResponse(s.id, s.name, s.gender, " + CHILD_COLUMNS +
+            "ORDER BY s.modifiedDate DESC, s.id")
+    List<ChildResponse> findChildrenByParentId(@Param("parentId") int parentId);
+
+    // danh sach con trong man hinh form: gender viet thuong
+    @Query("SELECT new com.sba301.group1.pes_be.dto.response.ChildResponse(s.id, s.name, LOWER(s.gender), " + CHILD_COLUMNS +
+            "ORDER BY s.id")
+    List<ChildResponse> findChildrenForFormListByParentId(@Param("parentId") int parentId);
 }
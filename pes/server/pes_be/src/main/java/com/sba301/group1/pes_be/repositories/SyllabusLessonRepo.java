@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +21,8 @@ public interface SyllabusLessonRepo extends JpaRepository<SyllabusLesson, Intege
     SyllabusLesson findBySyllabusIdAndLessonId(@Param("syllabusId") Integer syllabusId, @Param("lessonId") Integer lessonId);
 
     boolean existsBySyllabusIdAndLessonId(Integer syllabusId, Integer lessonId);
+
+    // Thu tu lesson trong syllabus theo thu tu them vao
+    @Query("SELECT sl FROM SyllabusLesson sl JOIN FETCH sl.lesson WHERE sl.syllabus.id IN :syllabusIds ORDER BY sl.syllabus.id, sl.id")
+    List<SyllabusLesson> findAllWithLessonBySyllabusIdIn(@Param("syllabusIds") Collection<Integer> syllabusIds);
 }
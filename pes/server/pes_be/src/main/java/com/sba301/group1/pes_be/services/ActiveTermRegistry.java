@@ -0,0 +1,11 @@
+package com.sba301.group1.pes_be.services;
+
+import com.sba301.group1.pes_be.enums.Grade;
+
+import java.time.LocalDateTime;
+
+public interface ActiveTermRegistry {
+    Integer findActiveTermId(Grade grade, LocalDateTime at);
+
+    void refresh();
+}
@@ -0,0 +1,9 @@
+package com.sba301.group1.pes_be.services;
+
+public interface AdmissionCapacityService {
+    boolean reserve(int termId);
+
+    void release(int termId);
+
+    void release(int termId, int count);
+}
@@ -1,5 +1,7 @@
 package com.sba301.group1.pes_be.services;
 
+import com.sba301.group1.pes_be.dto.requests.AdmissionFormFilterRequest;
+import com.sba301.group1.pes_be.dto.requests.BulkProcessAdmissionFormRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateAdmissionTermRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateExtraTermRequest;
 import com.sba301.group1.pes_be.dto.requests.ProcessAdmissionFormRequest;
@@ -18,5 +20,9 @@ public interface AdmissionService {
 
     ResponseEntity<ResponseObject> viewAdmissionFormList();
 
+    ResponseEntity<ResponseObject> viewAdmissionFormPage(AdmissionFormFilterRequest request);
+
     ResponseEntity<ResponseObject> processAdmissionFormList(ProcessAdmissionFormRequest request);
+
+    ResponseEntity<ResponseObject> processAdmissionFormBulk(BulkProcessAdmissionFormRequest request);
 }
@@ -13,7 +13,7 @@ import com.sba301.group1.pes_be.dto.requests.UpdateScheduleRequest;
 import com.sba301.group1.pes_be.dto.response.ResponseObject;
 import com.sba301.group1.pes_be.dto.response.RoomResponse;
 import org.springframework.http.ResponseEntity;
-import java.util.List;
+import java.time.LocalDate;
 
 /**
  * Consolidated education service interface that encompasses all education-related operations
@@ -403,9 +403,10 @@ public interface EducationService {
     ResponseEntity<ResponseObject> getAllStudentClassAssignments();
     
     /**
-     * Retrieves a list of all rooms (1-20) with their occupancy status.
-     * A room is considered occupied if there is at least one class assigned to it.
-     * @return ResponseEntity containing a list of RoomResponse objects.
+     * Retrieves a list of all rooms (1..education-room-count) with their occupancy status.
+     * A room is occupied if a class assigned to it starts in startYear (any year when null),
+     * or, when from/to are given, if a class in that room runs at any time within [from, to].
+     * @return ResponseEntity containing ResponseObject with a list of RoomResponse objects.
      */
-    ResponseEntity<List<RoomResponse>> getRoomAvailability(Integer startYear);
+    ResponseEntity<ResponseObject> getRoomAvailability(Integer startYear, LocalDate from, LocalDate to);
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.sba301.group1.pes_be.services;
 
 import com.sba301.group1.pes_be.models.Account;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 
 public interface JWTService {
     String extractEmailFromJWT(String jwt);
 
+    Claims extractClaimsFromJWT(String jwt);
+
     Account extractAccountFromCookie(HttpServletRequest request);
 
     String generateAccessToken(UserDetails user);
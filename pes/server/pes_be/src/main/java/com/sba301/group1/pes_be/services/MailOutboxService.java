@@ -0,0 +1,5 @@
+package com.sba301.group1.pes_be.services;
+
+public interface MailOutboxService {
+    void dispatchPending();
+}
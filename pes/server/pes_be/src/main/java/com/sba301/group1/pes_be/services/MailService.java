@@ -1,5 +1,14 @@
 package com.sba301.group1.pes_be.services;
 
+import com.sba301.group1.pes_be.models.MailOutbox;
+
+import java.util.List;
+import java.util.Map;
+
 public interface MailService {
     void sendMail(String to, String subject, String heading, String body);
+
+    void queueMail(String to, String subject, String heading, String body);
+
+    Map<Integer, String> sendBatch(List<MailOutbox> mails);
 }
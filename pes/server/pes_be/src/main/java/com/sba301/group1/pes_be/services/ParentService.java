@@ -30,5 +30,8 @@ public interface ParentService {
 
     ResponseEntity<ResponseObject> updateProfileParent(UpdateParentRequest request, HttpServletRequest httpRequest);
 
-    ResponseEntity<ResponseObject> getStudentClassDetailsGroupedByWeek(int studentId, HttpServletRequest request);
+    // Trả về null nếu phụ huynh đang đăng nhập sở hữu học sinh, ngược lại là response lỗi (403/404)
+    ResponseEntity<ResponseObject> checkStudentAccess(int studentId, HttpServletRequest request);
+
+    ResponseEntity<ResponseObject> getStudentClassDetailsGroupedByWeek(int studentId, Integer fromWeek, Integer toWeek, HttpServletRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.sba301.group1.pes_be.services;
+
+import com.sba301.group1.pes_be.enums.VersionedAggregate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+public interface ResponseVersionService {
+    void bump(VersionedAggregate... aggregates);
+
+    String etag(VersionedAggregate... aggregates);
+
+    <T> ResponseEntity<T> conditional(WebRequest webRequest, Supplier<ResponseEntity<T>> loader, VersionedAggregate... aggregates);
+}
@@ -0,0 +1,14 @@
+package com.sba301.group1.pes_be.services;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+public interface RoomRegistry {
+    int getRoomCount();
+
+    BitSet findOccupiedRooms(Integer startYear);
+
+    BitSet findOccupiedRooms(LocalDate from, LocalDate to);
+
+    void refresh();
+}
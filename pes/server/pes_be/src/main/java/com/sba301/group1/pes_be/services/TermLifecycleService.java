@@ -0,0 +1,10 @@
+package com.sba301.group1.pes_be.services;
+
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.AdmissionTerm;
+
+public interface TermLifecycleService {
+    Status computeStatus(AdmissionTerm term);
+
+    void refreshTermStatuses();
+}
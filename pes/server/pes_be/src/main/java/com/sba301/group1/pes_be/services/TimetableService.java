@@ -0,0 +1,9 @@
+package com.sba301.group1.pes_be.services;
+
+import com.sba301.group1.pes_be.dto.requests.GenerateTimetableRequest;
+import com.sba301.group1.pes_be.dto.response.ResponseObject;
+import org.springframework.http.ResponseEntity;
+
+public interface TimetableService {
+    ResponseEntity<ResponseObject> generateTimetable(GenerateTimetableRequest request);
+}
@@ -0,0 +1,81 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.enums.Grade;
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.AdmissionTerm;
+import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
+import com.sba301.group1.pes_be.services.ActiveTermRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Danh sach term dang ACTIVE theo grade kem khoang ngay [startDate, endDate], giu trong bo nho.
+ * Duoc lam moi khi khoi dong va sau khi commit moi thay doi status term (scheduler, tao term, tao extra term, khoa term).
+ * Nhieu term ACTIVE cung grade chua thoi diem can tim (vd. extra term mo khi term chinh chua khoa) thi
+ * luon chon term bat dau muon nhat, bang nhau thi id lon nhat.
+ */
+@Service
+@RequiredArgsConstructor
+public class ActiveTermRegistryImpl implements ActiveTermRegistry {
+
+    private static final Comparator<ActiveTerm> LATEST_FIRST =
+            Comparator.comparing(ActiveTerm::startDate).thenComparingInt(ActiveTerm::id).reversed();
+
+    private final AdmissionTermRepo admissionTermRepo;
+
+    private volatile Map<Grade, List<ActiveTerm>> activeTerms = Map.of();
+
+    @Override
+    public Integer findActiveTermId(Grade grade, LocalDateTime at) {
+        for (ActiveTerm term : activeTerms.getOrDefault(grade, List.of())) {
+            if (!at.isBefore(term.startDate()) && !at.isAfter(term.endDate())) {
+                return term.id();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void refresh() {
+        // doc lai sau khi commit: neu doc trong transaction dang chay, request khac co the thay term chua commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+            return;
+        }
+        reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<Grade, List<ActiveTerm>> terms = new EnumMap<>(Grade.class);
+        for (AdmissionTerm term : admissionTermRepo.findAllByStatus(Status.ACTIVE_TERM)) {
+            if (term.getGrade() == null || term.getStartDate() == null || term.getEndDate() == null) {
+                continue;
+            }
+            terms.computeIfAbsent(term.getGrade(), grade -> new ArrayList<>())
+                    .add(new ActiveTerm(term.getId(), term.getStartDate(), term.getEndDate()));
+        }
+        terms.values().forEach(list -> list.sort(LATEST_FIRST));
+        terms.replaceAll((grade, list) -> List.copyOf(list));
+        activeTerms = Map.copyOf(terms);
+    }
+
+    private record ActiveTerm(int id, LocalDateTime startDate, LocalDateTime endDate) {
+    }
+}
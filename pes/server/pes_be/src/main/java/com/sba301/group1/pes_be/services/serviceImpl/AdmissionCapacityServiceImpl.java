@@ -0,0 +1,67 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
+import com.sba301.group1.pes_be.services.AdmissionCapacityService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Giu cho theo term bang guarded UPDATE tren dong admission_term.
+ * reserve chay trong transaction rieng (REQUIRES_NEW) nen lock dong term chi giu trong 1 cau UPDATE,
+ * khong keo dai den khi ca submit commit; nhieu phu huynh submit cung luc van khong vuot maxNumberRegistration.
+ * Neu transaction cua submit rollback sau khi da giu cho, cho do duoc tra lai trong 1 transaction rieng khac.
+ * Transaction rieng can them 1 connection trong luc UPDATE, pool phai lon hon so request submit chay song song.
+ */
+@Service
+public class AdmissionCapacityServiceImpl implements AdmissionCapacityService {
+
+    private final AdmissionTermRepo admissionTermRepo;
+
+    // reserve va phan tra lai khi rollback deu chay tach khoi transaction cua submit
+    private final TransactionTemplate requiresNew;
+
+    public AdmissionCapacityServiceImpl(AdmissionTermRepo admissionTermRepo, PlatformTransactionManager transactionManager) {
+        this.admissionTermRepo = admissionTermRepo;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public boolean reserve(int termId) {
+        Integer reserved = requiresNew.execute(tx -> admissionTermRepo.tryReserveSlot(termId));
+        if (reserved == null || reserved != 1) {
+            return false;
+        }
+        // cho da commit ngay, dang ky tren transaction cua submit: neu no rollback thi tra lai cho
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        requiresNew.executeWithoutResult(tx -> admissionTermRepo.releaseSlots(termId, 1));
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void release(int termId) {
+        release(termId, 1);
+    }
+
+    @Override
+    @Transactional
+    public void release(int termId, int count) {
+        if (count > 0) {
+            admissionTermRepo.releaseSlots(termId, count);
+        }
+    }
+}
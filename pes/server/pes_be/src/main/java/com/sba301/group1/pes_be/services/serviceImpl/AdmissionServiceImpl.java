@@ -1,10 +1,15 @@
 package com.sba301.group1.pes_be.services.serviceImpl;
 
+import com.sba301.group1.pes_be.dto.requests.AdmissionFormFilterRequest;
+import com.sba301.group1.pes_be.dto.requests.BulkProcessAdmissionFormRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateAdmissionTermRequest;
 import com.sba301.group1.pes_be.dto.requests.CreateExtraTermRequest;
 import com.sba301.group1.pes_be.dto.requests.ProcessAdmissionFormRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateAdmissionTermRequest;
+import com.sba301.group1.pes_be.dto.response.AdmissionFormResponse;
+import com.sba301.group1.pes_be.dto.response.AdmissionTermResponse;
 import com.sba301.group1.pes_be.dto.response.ResponseObject;
+import com.sba301.group1.pes_be.dto.response.TermFormStatistics;
 import com.sba301.group1.pes_be.email.Format;
 import com.sba301.group1.pes_be.enums.Grade;
 import com.sba301.group1.pes_be.enums.Status;
@@ -14,22 +19,28 @@ import com.sba301.group1.pes_be.models.Student;
 import com.sba301.group1.pes_be.repositories.AdmissionFormRepo;
 import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
 import com.sba301.group1.pes_be.repositories.StudentRepo;
+import com.sba301.group1.pes_be.services.ActiveTermRegistry;
+import com.sba301.group1.pes_be.services.AdmissionCapacityService;
 import com.sba301.group1.pes_be.services.AdmissionService;
 import com.sba301.group1.pes_be.services.MailService;
+import com.sba301.group1.pes_be.services.TermLifecycleService;
+import com.sba301.group1.pes_be.validations.AdmissionValidation.AdmissionFormFilterValidation;
 import com.sba301.group1.pes_be.validations.AdmissionValidation.AdmissionTermValidation;
 import com.sba301.group1.pes_be.validations.AdmissionValidation.ExtraTermValidation;
 import com.sba301.group1.pes_be.validations.AdmissionValidation.ProcessAdmissionFormValidation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -39,6 +50,11 @@ public class AdmissionServiceImpl implements AdmissionService {
     private final AdmissionFormRepo admissionFormRepo;
     private final AdmissionTermRepo admissionTermRepo;
     private final MailService mailService;
+    private final TermLifecycleService termLifecycleService;
+    private final AdmissionCapacityService admissionCapacityService;
+    private final ActiveTermRegistry activeTermRegistry;
+
+    private static final int DEFAULT_FORM_PAGE_SIZE = 20;
 
     @Override
     public ResponseEntity<ResponseObject> createAdmissionTerm(CreateAdmissionTermRequest request) {
@@ -53,17 +69,19 @@ public class AdmissionServiceImpl implements AdmissionService {
             );
         }
 
-        admissionTermRepo.save(
-                AdmissionTerm.builder()
-                        .name("Admission Term " + Grade.valueOf(request.getGrade().toUpperCase()).getName() + " " + LocalDate.now().getYear())
-                        .grade(Grade.valueOf(request.getGrade().toUpperCase()))
-                        .startDate(request.getStartDate())
-                        .endDate(request.getEndDate())
-                        .year(LocalDate.now().getYear())
-                        .maxNumberRegistration(request.getMaxNumberRegistration())
-                        .status(Status.INACTIVE_TERM)
-                        .build()
-        );
+        AdmissionTerm term = AdmissionTerm.builder()
+                .name("Admission Term " + Grade.valueOf(request.getGrade().toUpperCase()).getName() + " " + LocalDate.now().getYear())
+                .grade(Grade.valueOf(request.getGrade().toUpperCase()))
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .year(LocalDate.now().getYear())
+                .maxNumberRegistration(request.getMaxNumberRegistration())
+                .status(Status.INACTIVE_TERM)
+                .build();
+        // term có thể mở ngay nếu startDate đã qua, không chờ lần chạy scheduler kế tiếp
+        term.setStatus(termLifecycleService.computeStatus(term));
+        admissionTermRepo.save(term);
+        activeTermRegistry.refresh();
         return ResponseEntity.status(HttpStatus.OK).body(
                 ResponseObject.builder()
                         .message("Create term successfully")
@@ -108,6 +126,7 @@ public class AdmissionServiceImpl implements AdmissionService {
         }
         term.setStatus(Status.LOCKED_TERM);
         admissionTermRepo.save(term);
+        activeTermRegistry.refresh();
 
         return ResponseEntity.ok(
                 ResponseObject.builder()
@@ -127,46 +146,38 @@ public class AdmissionServiceImpl implements AdmissionService {
 
     @Override
     public ResponseEntity<ResponseObject> viewAdmissionTerm() {
+        // status do TermLifecycleService cập nhật định kỳ, GET chỉ đọc
         List<AdmissionTerm> terms = admissionTermRepo.findAll();
 
-        for (AdmissionTerm term : terms) {
-            Status timeStatus = updateTermStatus(term);
-
-            //if đủ → cần "khóa" lại dù chưa hết hạn
-            boolean isFull = countApprovedFormByTerm(term) >= term.getMaxNumberRegistration();
-
-            //term đang ACTIVE nhưng đã đủ số lượng → chuyển sang LOCKED_TERM
-            //trường hợp khác giữ nguyên status tính từ thời gian
-            Status finalStatus = (timeStatus.equals(Status.ACTIVE_TERM) && isFull)
-                    ? Status.LOCKED_TERM
-                    : timeStatus;
+        // 1 query GROUP BY cho số form của mọi term, không load admissionFormList
+        Map<Integer, TermFormStatistics> statistics = getTermStatistics();
 
-            if (!term.getStatus().equals(finalStatus)) {
-                term.setStatus(finalStatus);
-                admissionTermRepo.save(term);
-            }
-        }
+        // gom extra term theo parent term ngay trong bộ nhớ, không query lại từng term
+        Map<Integer, List<AdmissionTerm>> extraTermsByParent = terms.stream()
+                .filter(term -> term.getParentTerm() != null)
+                .collect(Collectors.groupingBy(term -> term.getParentTerm().getId()));
 
-        List<Map<String, Object>> termList = terms.stream()
+        List<AdmissionTermResponse> termList = terms.stream()
                 .map(term -> {
-                            Map<String, Object> data = new HashMap<>();
-                            data.put("id", term.getId());
-                            data.put("name", term.getName());
-                            data.put("startDate", term.getStartDate());
-                            data.put("endDate", term.getEndDate());
-                            data.put("year", term.getYear());
-                            data.put("maxNumberRegistration", term.getMaxNumberRegistration());
-                            data.put("approvedForm", countApprovedFormByTerm(term));
-                            data.put("grade", term.getGrade());
-                            data.put("status", term.getStatus().getValue());
-
-                            //gọi lai extra term
-                            if (!admissionTermRepo.findAllByParentTerm_Id(term.getId()).isEmpty()) {
-                                data.put("extraTerms", viewExtraTerm(term));
-                            }
-                            return data;
-                        }
-                )
+                    TermFormStatistics stat = statistics.getOrDefault(term.getId(), TermFormStatistics.empty(term.getId()));
+                    //gọi lai extra term
+                    List<AdmissionTerm> extraTerms = extraTermsByParent.getOrDefault(term.getId(), List.of());
+                    return new AdmissionTermResponse(
+                            term.getId(),
+                            term.getName(),
+                            term.getStartDate(),
+                            term.getEndDate(),
+                            term.getYear(),
+                            term.getMaxNumberRegistration(),
+                            stat.getApproved(),
+                            stat.getPending(),
+                            stat.getRejected(),
+                            stat.getCancelled(),
+                            term.getGrade(),
+                            term.getStatus().getValue(),
+                            extraTerms.isEmpty() ? null : viewExtraTerm(extraTerms, statistics)
+                    );
+                })
                 .toList();
 
         return ResponseEntity.status(HttpStatus.OK).body(
@@ -178,23 +189,14 @@ public class AdmissionServiceImpl implements AdmissionService {
         );
     }
 
-    private Status updateTermStatus(AdmissionTerm term) {
-        if (!term.getStatus().equals(Status.LOCKED_TERM)) {
-            if (LocalDateTime.now().isBefore(term.getStartDate())) {
-                return Status.INACTIVE_TERM;
-            } else if (!LocalDateTime.now().isAfter(term.getEndDate())) {
-                return Status.ACTIVE_TERM;
-            } else {
-                return Status.LOCKED_TERM;
-            }
-
-        }
-        return Status.LOCKED_TERM;
+    private Map<Integer, TermFormStatistics> getTermStatistics() {
+        return admissionFormRepo.countFormStatisticsGroupByTerm().stream()
+                .collect(Collectors.toMap(TermFormStatistics::getTermId, stat -> stat));
     }
 
     @Override
     public ResponseEntity<ResponseObject> createExtraTerm(CreateExtraTermRequest request) {
-        String error = ExtraTermValidation.createExtraTerm(request, admissionTermRepo);
+        String error = ExtraTermValidation.createExtraTerm(request, admissionTermRepo, admissionFormRepo);
         if (!error.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                     ResponseObject.builder()
@@ -219,8 +221,9 @@ public class AdmissionServiceImpl implements AdmissionService {
                 .status(Status.INACTIVE_TERM)
                 .build());
 
-        extraTerm.setStatus(updateTermStatus(extraTerm));
+        extraTerm.setStatus(termLifecycleService.computeStatus(extraTerm));
         admissionTermRepo.save(extraTerm);
+        activeTermRegistry.refresh();
 
         return ResponseEntity.status(HttpStatus.CREATED).body(
                 ResponseObject.builder()
@@ -231,59 +234,37 @@ public class AdmissionServiceImpl implements AdmissionService {
         );
     }
 
-    private int countApprovedFormByTerm(AdmissionTerm term) {
-        return (int) term.getAdmissionFormList().stream().filter(form -> form.getStatus().equals(Status.APPROVED)).count();
-    }
-
     private int countMissingFormAmountByTerm(AdmissionTerm term) {
-        return term.getMaxNumberRegistration() - countApprovedFormByTerm(term);
+        return term.getMaxNumberRegistration() - (int) admissionFormRepo.countByAdmissionTerm_IdAndStatus(term.getId(), Status.APPROVED);
     }
 
-    private List<Map<String, Object>> viewExtraTerm(AdmissionTerm parentTerm) {
-
-        return admissionTermRepo.findAllByParentTerm_Id(parentTerm.getId()).stream()
-                .map(extraTerm -> {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("id", extraTerm.getId());
-                    data.put("name", extraTerm.getName());
-                    data.put("startDate", extraTerm.getStartDate());
-                    data.put("endDate", extraTerm.getEndDate());
-                    data.put("maxNumberRegistration", extraTerm.getMaxNumberRegistration());
-                    data.put("approvedForm", countApprovedFormByTerm(extraTerm));
-                    data.put("status", extraTerm.getStatus().getValue());
-                    return data;
-                })
-                .toList();
-
+    private List<AdmissionTermResponse.ExtraTerm> viewExtraTerm(List<AdmissionTerm> extraTerms, Map<Integer, TermFormStatistics> statistics) {
+        List<AdmissionTermResponse.ExtraTerm> result = new ArrayList<>(extraTerms.size());
+        for (AdmissionTerm extraTerm : extraTerms) {
+            TermFormStatistics stat = statistics.getOrDefault(extraTerm.getId(), TermFormStatistics.empty(extraTerm.getId()));
+            result.add(new AdmissionTermResponse.ExtraTerm(
+                    extraTerm.getId(),
+                    extraTerm.getName(),
+                    extraTerm.getStartDate(),
+                    extraTerm.getEndDate(),
+                    extraTerm.getMaxNumberRegistration(),
+                    stat.getApproved(),
+                    stat.getPending(),
+                    stat.getRejected(),
+                    stat.getCancelled(),
+                    extraTerm.getStatus().getValue()
+            ));
+        }
+        return result;
     }
 
 
     @Override
     public ResponseEntity<ResponseObject> viewAdmissionFormList() {
-        List<Map<String, Object>> formList = admissionFormRepo.findAll().stream()
-                .sorted(Comparator.comparing(AdmissionForm::getSubmittedDate).reversed()) // sort form theo ngày chỉnh sửa mới nhất
-                .map(form -> {
-                            Map<String, Object> data = new HashMap<>();
-                            data.put("id", form.getId());
-                            data.put("studentId", form.getStudent().getId());
-                            data.put("studentName", form.getStudent().getName());
-                            data.put("studentGender", form.getStudent().getGender());
-                            data.put("studentDateOfBirth", form.getStudent().getDateOfBirth());
-                            data.put("studentPlaceOfBirth", form.getStudent().getPlaceOfBirth());
-                            data.put("profileImage", form.getStudent().getAdmissionFormList());
-                            data.put("householdRegistrationAddress", form.getHouseholdRegistrationAddress());
-                            data.put("householdRegistrationImg", form.getStudent().getHouseholdRegistrationImg());
-                            data.put("birthCertificateImg", form.getStudent().getBirthCertificateImg());
-                            data.put("commitmentImg", form.getCommitmentImg());
-                            data.put("childCharacteristicsFormImg", form.getChildCharacteristicsFormImg());
-                            data.put("submittedDate", form.getSubmittedDate());
-                            data.put("cancelReason", form.getCancelReason());
-                            data.put("note", form.getNote());
-                            data.put("status", form.getStatus().getValue());
-                            return data;
-                        }
-                )
-                .toList();
+        // chỉ trả các form mới nhất (tối đa MAX_PAGE_SIZE), xem tiếp qua /form/page
+        List<AdmissionFormResponse> formList = admissionFormRepo
+                .findFormPage(null, null, null, null, null, null, null,
+                        PageRequest.of(0, AdmissionFormFilterValidation.MAX_PAGE_SIZE));
 
         return ResponseEntity.ok().body(
                 ResponseObject.builder()
@@ -294,8 +275,58 @@ public class AdmissionServiceImpl implements AdmissionService {
         );
     }
 
+    @Override
+    public ResponseEntity<ResponseObject> viewAdmissionFormPage(AdmissionFormFilterRequest request) {
+        String error = AdmissionFormFilterValidation.validate(request);
+        if (!error.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    ResponseObject.builder()
+                            .message(error)
+                            .success(false)
+                            .data(null)
+                            .build()
+            );
+        }
+
+        int size = request.getSize() != null ? request.getSize() : DEFAULT_FORM_PAGE_SIZE;
+
+        // lấy dư 1 dòng để biết còn trang sau hay không
+        List<AdmissionFormResponse> forms = admissionFormRepo.findFormPage(
+                AdmissionFormFilterValidation.parseStatus(request.getStatus()),
+                request.getTermId(),
+                AdmissionFormFilterValidation.parseGrade(request.getGrade()),
+                request.getFromDate(),
+                request.getToDate(),
+                request.getCursorDate(),
+                request.getCursorId(),
+                PageRequest.of(0, size + 1)
+        );
+
+        boolean hasNext = forms.size() > size;
+        List<AdmissionFormResponse> pageForms = hasNext ? forms.subList(0, size) : forms;
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("forms", pageForms);
+        data.put("hasNext", hasNext);
+        if (hasNext) {
+            AdmissionFormResponse last = pageForms.get(pageForms.size() - 1);
+            data.put("nextCursorDate", last.submittedDate() != null
+                    ? last.submittedDate()
+                    : LocalDate.parse(AdmissionFormRepo.UNSUBMITTED_DATE));
+            data.put("nextCursorId", last.id());
+        }
+
+        return ResponseEntity.ok().body(
+                ResponseObject.builder()
+                        .message("")
+                        .success(true)
+                        .data(data)
+                        .build()
+        );
+    }
 
     @Override
+    @Transactional
     public ResponseEntity<ResponseObject> processAdmissionFormList(ProcessAdmissionFormRequest request) {
         String error = ProcessAdmissionFormValidation.processFormByManagerValidate(request, admissionFormRepo);
         if (!error.isEmpty()) {
@@ -311,40 +342,111 @@ public class AdmissionServiceImpl implements AdmissionService {
         AdmissionForm form = admissionFormRepo.findById(request.getId()).orElse(null);
         assert form != null;
 
+        Map<Integer, Integer> releasedSlots = new HashMap<>();
+        applyDecision(form, request, releasedSlots);
+        releasedSlots.forEach(admissionCapacityService::release);
+
+        if (request.isApproved()) {
+            studentRepo.save(form.getStudent());
+        }
+        admissionFormRepo.save(form);
+
+        return ResponseEntity.ok().body(
+                ResponseObject.builder()
+                        .message(request.isApproved() ? "Form Approved" : "Form Rejected")
+                        .success(true)
+                        .data(null)
+                        .build()
+        );
+    }
+
+    @Override
+    @Transactional
+    public ResponseEntity<ResponseObject> processAdmissionFormBulk(BulkProcessAdmissionFormRequest request) {
+        String error = ProcessAdmissionFormValidation.bulkValidate(request);
+        if (!error.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    ResponseObject.builder()
+                            .message(error)
+                            .success(false)
+                            .data(null)
+                            .build()
+            );
+        }
+
+        // 1 query cho tất cả form (kèm student, parent, account)
+        Map<Integer, AdmissionForm> formsById = admissionFormRepo.findAllByIdInForProcessing(
+                        request.getForms().stream().map(ProcessAdmissionFormRequest::getId).toList()
+                ).stream()
+                .collect(Collectors.toMap(AdmissionForm::getId, form -> form));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<AdmissionForm> processedForms = new ArrayList<>();
+        List<Student> approvedStudents = new ArrayList<>();
+        Map<Integer, Integer> releasedSlots = new HashMap<>();
+        for (ProcessAdmissionFormRequest decision : request.getForms()) {
+            AdmissionForm form = formsById.get(decision.getId());
+            String formError = ProcessAdmissionFormValidation.decisionValidate(decision, form);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("id", decision.getId());
+            result.put("success", formError.isEmpty());
+            if (!formError.isEmpty()) {
+                result.put("message", formError);
+                results.add(result);
+                continue;
+            }
+
+            applyDecision(form, decision, releasedSlots);
+            processedForms.add(form);
+            if (decision.isApproved()) {
+                approvedStudents.add(form.getStudent());
+            }
+            result.put("message", decision.isApproved() ? "Form Approved" : "Form Rejected");
+            results.add(result);
+        }
+
+        // flush 1 lần trong transaction, UPDATE được gom theo hibernate.jdbc.batch_size
+        studentRepo.saveAll(approvedStudents);
+        admissionFormRepo.saveAll(processedForms);
+        releasedSlots.forEach(admissionCapacityService::release);
+
+        return ResponseEntity.ok().body(
+                ResponseObject.builder()
+                        .message("Processed " + processedForms.size() + "/" + request.getForms().size() + " forms")
+                        .success(true)
+                        .data(results)
+                        .build()
+        );
+    }
+
+    // Cập nhật status form/student và xếp mail vào outbox; chỗ trả lại cho term được cộng dồn vào releasedSlots
+    private void applyDecision(AdmissionForm form, ProcessAdmissionFormRequest request, Map<Integer, Integer> releasedSlots) {
         Student student = form.getStudent();
-        assert student != null;
 
         //lấy email ph từ account
         String parentEmail = form.getParent().getAccount().getEmail();//account phải có email
         if (request.isApproved()) {
             form.setStatus(Status.APPROVED);
-
             student.setStudent(true);// Đánh dấu đã trở thành học sinh chính thức
-            studentRepo.save(student);
 
             String subject = "[PES] Admission Approved";
             String heading = "Admission Approved";
             String bodyHtml = Format.getAdmissionApprovedBody(student.getName());
-            mailService.sendMail(parentEmail, subject, heading, bodyHtml);
+            mailService.queueMail(parentEmail, subject, heading, bodyHtml);
 
         } else {
             form.setStatus(Status.REJECTED);
             form.setCancelReason(request.getReason());
+            //form PENDING_APPROVAL (đã kiểm tra ở decisionValidate) đang giữ 1 chỗ trong term
+            if (form.getAdmissionTerm() != null) {
+                releasedSlots.merge(form.getAdmissionTerm().getId(), 1, Integer::sum);
+            }
 
             String subject = "[PES] Admission Rejected";
             String heading = "Admission Rejected";
             String bodyHtml = Format.getAdmissionRejectedBody(student.getName(), request.getReason());
-            mailService.sendMail(parentEmail, subject, heading, bodyHtml);
+            mailService.queueMail(parentEmail, subject, heading, bodyHtml);
         }
-
-        admissionFormRepo.save(form);
-
-        return ResponseEntity.ok().body(
-                ResponseObject.builder()
-                        .message(request.isApproved() ? "Form Approved" : "Form Rejected")
-                        .success(true)
-                        .data(null)
-                        .build()
-        );
     }
 }
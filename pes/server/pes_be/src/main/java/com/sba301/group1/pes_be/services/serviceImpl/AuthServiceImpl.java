@@ -1,5 +1,6 @@
 package com.sba301.group1.pes_be.services.serviceImpl;
 
+import com.sba301.group1.pes_be.confgs.RevocationRegistry;
 import com.sba301.group1.pes_be.dto.requests.LoginRequest;
 import com.sba301.group1.pes_be.dto.requests.RegisterRequest;
 import com.sba301.group1.pes_be.dto.response.ResponseObject;
@@ -14,6 +15,7 @@ import com.sba301.group1.pes_be.services.JWTService;
 import com.sba301.group1.pes_be.utils.CookieUtil;
 import com.sba301.group1.pes_be.validations.AuthValidation.LoginValidation;
 import com.sba301.group1.pes_be.validations.AuthValidation.RegisterValidation;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -43,6 +45,8 @@ public class AuthServiceImpl implements AuthService {
 
     private final JWTService jwtService;
 
+    private final RevocationRegistry revocationRegistry;
+
     @Override
     public ResponseEntity<ResponseObject> login(LoginRequest request, HttpServletResponse response) {
         String error = LoginValidation.validate(request, accountRepo);
@@ -106,9 +110,11 @@ public class AuthServiceImpl implements AuthService {
     public ResponseEntity<ResponseObject> refresh(HttpServletRequest request, HttpServletResponse response) {
         Cookie refreshToken = CookieUtil.getCookie(request, "refresh");
 
-        if (refreshToken != null && jwtService.checkIfNotExpired(refreshToken.getValue())) {
-            String email = jwtService.extractEmailFromJWT(refreshToken.getValue());
-            Account account = accountRepo.findByEmail(email).orElse(null);
+        // Parse mot lan; token het han se tra ve null
+        Claims claims = refreshToken != null ? jwtService.extractClaimsFromJWT(refreshToken.getValue()) : null;
+
+        if (claims != null && !revocationRegistry.isRevoked(claims.getSubject(), claims.getIssuedAt())) {
+            Account account = accountRepo.findByEmail(claims.getSubject()).orElse(null);
 
             if (account != null) {
 
@@ -11,6 +11,7 @@ import com.sba301.group1.pes_be.dto.requests.SyllabusRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateActivityRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateScheduleRequest;
 import com.sba301.group1.pes_be.dto.response.ActivityResponse;
+import com.sba301.group1.pes_be.dto.response.ClassAssignmentResponse;
 import com.sba301.group1.pes_be.dto.response.ClassesResponse;
 import com.sba301.group1.pes_be.dto.response.LessonResponse;
 import com.sba301.group1.pes_be.dto.response.ResponseObject;
@@ -21,6 +22,7 @@ import com.sba301.group1.pes_be.dto.response.SyllabusResponse;
 import com.sba301.group1.pes_be.dto.response.TeacherResponse;
 import com.sba301.group1.pes_be.enums.Grade;
 import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.enums.VersionedAggregate;
 import com.sba301.group1.pes_be.models.Account;
 import com.sba301.group1.pes_be.models.Activity;
 import com.sba301.group1.pes_be.models.Classes;
@@ -41,8 +43,12 @@ import com.sba301.group1.pes_be.repositories.StudentRepo;
 import com.sba301.group1.pes_be.repositories.SyllabusLessonRepo;
 import com.sba301.group1.pes_be.repositories.SyllabusRepo;
 import com.sba301.group1.pes_be.services.EducationService;
+import com.sba301.group1.pes_be.services.ResponseVersionService;
+import com.sba301.group1.pes_be.services.RoomRegistry;
+import com.sba301.group1.pes_be.validations.ActivityValidation.ActivityConflictValidation;
 import com.sba301.group1.pes_be.validations.ActivityValidation.CreateActivityValidation;
 import com.sba301.group1.pes_be.validations.ClassValidation.CreateClassValidation;
+import com.sba301.group1.pes_be.validations.ClassValidation.RoomAvailabilityValidation;
 import com.sba301.group1.pes_be.validations.ClassValidation.UpdateClassValidation;
 import com.sba301.group1.pes_be.validations.ScheduleValidation.CreateScheduleValidation;
 import com.sba301.group1.pes_be.validations.ScheduleValidation.UpdateScheduleValidation;
@@ -54,10 +60,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -78,6 +86,9 @@ public class EducationServiceImpl implements EducationService {
     private final AdmissionFormRepo admissionFormRepo;
     private final StudentClassRepo studentClassRepo;
 
+    private final RoomRegistry roomRegistry;
+    private final ResponseVersionService responseVersionService;
+
     // Private helper method to convert Activity entity to Response
     private ActivityResponse convertToResponse(Activity activity) {
         return ActivityResponse.fromEntity(activity);
@@ -112,6 +123,19 @@ public class EducationServiceImpl implements EducationService {
             // Get schedule (validation already checked it exists)
             Schedule schedule = scheduleRepo.findById(request.getScheduleId()).get();
 
+            String conflictError = ActivityConflictValidation.validate(schedule, List.of(
+                    new ActivityConflictValidation.Candidate(null, request.getTopic(), request.getDayOfWeek(), request.getStartTime(), request.getEndTime())
+            ), activityRepo);
+            if (!conflictError.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                        ResponseObject.builder()
+                                .message(conflictError)
+                                .success(false)
+                                .data(null)
+                                .build()
+                );
+            }
+
             Activity activity = Activity.builder()
                     .topic(request.getTopic())
                     .description(request.getDescription())
@@ -137,6 +161,7 @@ public class EducationServiceImpl implements EducationService {
             }
 
             Activity savedActivity = activityRepo.save(activity);
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
             ActivityResponse activityResponse = convertToResponse(savedActivity);
             return ResponseEntity.status(HttpStatus.CREATED).body(
                     ResponseObject.builder()
@@ -172,6 +197,21 @@ public class EducationServiceImpl implements EducationService {
             }
 
             Activity activity = activityOpt.get();
+            if (activity.getSchedule() != null) {
+                String conflictError = ActivityConflictValidation.validate(activity.getSchedule(), List.of(
+                        new ActivityConflictValidation.Candidate(activityId, request.getTopic(), request.getDayOfWeek(), request.getStartTime(), request.getEndTime())
+                ), activityRepo);
+                if (!conflictError.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                            ResponseObject.builder()
+                                    .message(conflictError)
+                                    .success(false)
+                                    .data(null)
+                                    .build()
+                    );
+                }
+            }
+
             activity.setTopic(request.getTopic());
             activity.setDescription(request.getDescription());
             activity.setDayOfWeek(request.getDayOfWeek());
@@ -197,6 +237,7 @@ public class EducationServiceImpl implements EducationService {
             }
 
             Activity updatedActivity = activityRepo.save(activity);
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
             ActivityResponse activityResponse = convertToResponse(updatedActivity);
             return ResponseEntity.ok().body(
                     ResponseObject.builder()
@@ -220,7 +261,7 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getActivityById(Integer activityId) {
         try {
-            Optional<Activity> activityOpt = activityRepo.findById(activityId);
+            Optional<Activity> activityOpt = activityRepo.findDetailById(activityId);
             if (activityOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                         ResponseObject.builder()
@@ -302,7 +343,7 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getAllActivities() {
         try {
-            List<Activity> activities = activityRepo.findAll();
+            List<Activity> activities = activityRepo.findAllWithDetail();
             List<ActivityResponse> activityResponses = convertToResponse(activities);
             return ResponseEntity.ok().body(
                     ResponseObject.builder()
@@ -367,6 +408,7 @@ public class EducationServiceImpl implements EducationService {
                 // Activity has no schedule, safe to delete directly
                 activityRepo.deleteById(activityId);
             }
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
 
             String successMessage = "Activity deleted successfully" + scheduleInfo;
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(
@@ -492,6 +534,7 @@ public class EducationServiceImpl implements EducationService {
             Activity activity = activityOpt.get();
             activity.setSchedule(schedule);
             Activity updatedActivity = activityRepo.save(activity);
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
             ActivityResponse activityResponse = convertToResponse(updatedActivity);
 
             return ResponseEntity.ok().body(
@@ -556,9 +599,11 @@ public class EducationServiceImpl implements EducationService {
             Schedule schedule = scheduleOpt.get();
             List<Activity> activities = new ArrayList<>();
 
+            Map<Integer, Lesson> lessonsById = lessonRepo.findAllById(request.getLessonIds()).stream()
+                    .collect(Collectors.toMap(Lesson::getId, lesson -> lesson));
             for (Integer lessonId : request.getLessonIds()) {
-                Optional<Lesson> lessonOpt = lessonRepo.findById(lessonId);
-                if (lessonOpt.isEmpty()) {
+                Lesson lesson = lessonsById.get(lessonId);
+                if (lesson == null) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                             ResponseObject.builder()
                                     .message("Lesson with ID " + lessonId + " not found")
@@ -568,7 +613,6 @@ public class EducationServiceImpl implements EducationService {
                     );
                 }
 
-                Lesson lesson = lessonOpt.get();
                 Activity activity = Activity.builder()
                         .topic(lesson.getTopic())
                         .description(lesson.getDescription())
@@ -582,7 +626,26 @@ public class EducationServiceImpl implements EducationService {
                 activities.add(activity);
             }
 
+            // Check the whole batch in one pass: every lesson shares the requested slot, so more than one lesson
+            // overlaps inside the schedule and is rejected together with clashes against the existing timetable
+            if (!activities.isEmpty()) {
+                String conflictError = ActivityConflictValidation.validate(schedule, activities.stream()
+                        .map(activity -> new ActivityConflictValidation.Candidate(null, activity.getTopic(),
+                                activity.getDayOfWeek(), activity.getStartTime(), activity.getEndTime()))
+                        .toList(), activityRepo);
+                if (!conflictError.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                            ResponseObject.builder()
+                                    .message(conflictError)
+                                    .success(false)
+                                    .data(null)
+                                    .build()
+                    );
+                }
+            }
+
             List<Activity> savedActivities = activityRepo.saveAll(activities);
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
             List<ActivityResponse> activityResponses = convertToResponse(savedActivities);
             return ResponseEntity.status(HttpStatus.CREATED).body(
                     ResponseObject.builder()
@@ -795,7 +858,20 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getClassesByStatus(String status) {
         try {
-            List<Classes> classes = classesRepo.findByStatus(status);
+            Status classStatus;
+            try {
+                classStatus = status.equalsIgnoreCase("active") ? Status.ACTIVE : Status.fromValue(status);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                        ResponseObject.builder()
+                                .message("Invalid class status: " + status)
+                                .success(false)
+                                .data(null)
+                                .build()
+                );
+            }
+
+            List<Classes> classes = classesRepo.findByStatus(classStatus);
 
             if (classes.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
@@ -927,8 +1003,8 @@ public class EducationServiceImpl implements EducationService {
                     .syllabus(syllabus)
                     .numberStudent(request.getNumberStudent())
                     .roomNumber(request.getRoomNumber() != null ? request.getRoomNumber() : null)
-                    .startDate(request.getStartDate())
-                    .endDate(request.getEndDate())
+                    .startDate(LocalDate.parse(request.getStartDate()))
+                    .endDate(LocalDate.parse(request.getEndDate()))
                     .status(request.getStatus() != null
                             ? (request.getStatus().equalsIgnoreCase("active") ? Status.ACTIVE : Status.fromValue(request.getStatus()))
                             : Status.DRAFT)
@@ -936,6 +1012,8 @@ public class EducationServiceImpl implements EducationService {
                     .build();
 
             classesRepo.save(classes);
+            responseVersionService.bump(VersionedAggregate.CLASS);
+            roomRegistry.refresh();
             return ResponseEntity.status(HttpStatus.CREATED).body(
                     ResponseObject.builder()
                             .message("Create class successfully")
@@ -988,12 +1066,14 @@ public class EducationServiceImpl implements EducationService {
             existingClass.setSyllabus(syllabus);
             existingClass.setNumberStudent(request.getNumberStudent());
             existingClass.setRoomNumber(request.getRoomNumber() != null ? request.getRoomNumber() : null);
-            existingClass.setStartDate(request.getStartDate());
-            existingClass.setEndDate(request.getEndDate());
+            existingClass.setStartDate(LocalDate.parse(request.getStartDate()));
+            existingClass.setEndDate(LocalDate.parse(request.getEndDate()));
             existingClass.setStatus(request.getStatus() != null ? (request.getStatus().equalsIgnoreCase("active") ? Status.ACTIVE : Status.fromValue(request.getStatus())) : Status.DRAFT);
             existingClass.setGrade(request.getGrade() != null ? Grade.valueOf(request.getGrade().toUpperCase()) : null);
 
             classesRepo.save(existingClass);
+            responseVersionService.bump(VersionedAggregate.CLASS);
+            roomRegistry.refresh();
             return ResponseEntity.ok().body(
                     ResponseObject.builder()
                             .message("Update class successfully")
@@ -1050,6 +1130,8 @@ public class EducationServiceImpl implements EducationService {
 
             // If no dependencies, proceed with deletion
             classesRepo.delete(classes);
+            roomRegistry.refresh();
+            responseVersionService.bump(VersionedAggregate.CLASS, VersionedAggregate.SCHEDULE);
 
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(
                     ResponseObject.builder()
@@ -1076,7 +1158,18 @@ public class EducationServiceImpl implements EducationService {
             Integer classId = request.getClassId();
             List<Integer> studentIds = request.getStudentIds();
 
-            Optional<Classes> classOpt = classesRepo.findById(classId);
+            if (studentIds == null || studentIds.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                        ResponseObject.builder()
+                                .message("Student list is required")
+                                .success(false)
+                                .data(null)
+                                .build()
+                );
+            }
+
+            // Khóa dòng class tới hết transaction để các lần assign đồng thời không vượt numberStudent
+            Optional<Classes> classOpt = classesRepo.findByIdForUpdate(classId);
             if (classOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                         ResponseObject.builder()
@@ -1088,40 +1181,52 @@ public class EducationServiceImpl implements EducationService {
             }
 
             Classes classEntity = classOpt.get();
+            Set<Integer> requestedIds = new LinkedHashSet<>(studentIds);
+
+            // 2 query cho cả danh sách: student và lớp hiện tại của từng student
+            Map<Integer, Student> studentsById = studentRepo.findAllById(requestedIds).stream()
+                    .collect(Collectors.toMap(Student::getId, student -> student));
+            Map<Integer, Integer> assignedClassByStudent = new HashMap<>();
+            for (StudentClass existing : studentClassRepo.findByStudentIdIn(requestedIds)) {
+                assignedClassByStudent.putIfAbsent(existing.getStudent().getId(), existing.getClasses().getId());
+            }
+
             List<String> errors = new ArrayList<>();
-            for (Integer studentId : studentIds) {
-                Optional<Student> studentOpt = studentRepo.findById(studentId);
-                if (studentOpt.isEmpty()) {
+            List<StudentClass> newAssignments = new ArrayList<>();
+            for (Integer studentId : requestedIds) {
+                Student student = studentsById.get(studentId);
+                if (student == null) {
                     errors.add("Student not found: " + studentId);
                     continue;
                 }
-                Student student = studentOpt.get();
 
-                List<StudentClass> existingAssignments = studentClassRepo.findByStudentId(studentId);
-                if (!existingAssignments.isEmpty()) {
-                    Integer existingClassId = existingAssignments.get(0).getClasses().getId();
-                    errors.add("Student " + student.getId() + " is already assigned to class: " + existingClassId);
+                Integer existingClassId = assignedClassByStudent.get(studentId);
+                if (existingClassId != null) {
+                    errors.add("Student " + studentId + " is already assigned to class: " + existingClassId);
                     continue;
                 }
 
-                if (classEntity.getStudentClassList().size() >= classEntity.getNumberStudent()) {
-                    errors.add("Class " + classEntity.getId() + " has reached its maximum capacity of " + classEntity.getNumberStudent());
-                    break;
-                }
-
-                StudentClass studentClass = StudentClass.builder()
+                newAssignments.add(StudentClass.builder()
                         .student(student)
                         .classes(classEntity)
-                        .build();
-                studentClassRepo.save(studentClass);
-                studentRepo.save(student);
-                classEntity.getStudentClassList().add(studentClass);
+                        .build());
+            }
+
+            int currentSize = classEntity.getStudentClassList().size();
+            if (errors.isEmpty() && currentSize + newAssignments.size() > classEntity.getNumberStudent()) {
+                errors.add("Class " + classEntity.getId() + " has reached its maximum capacity of " + classEntity.getNumberStudent()
+                        + " (" + currentSize + " assigned, " + newAssignments.size() + " requested)");
             }
 
             if (!errors.isEmpty()) {
                 throw new RuntimeException(String.join("; ", errors));
             }
 
+            // Chỉ insert khi toàn bộ danh sách hợp lệ; các INSERT được gom theo hibernate.jdbc.batch_size
+            studentClassRepo.saveAll(newAssignments);
+            responseVersionService.bump(VersionedAggregate.CLASS);
+            classEntity.getStudentClassList().addAll(newAssignments);
+
             String message = "Students assigned to class successfully";
             return ResponseEntity.ok().body(
                     ResponseObject.builder()
@@ -1183,6 +1288,7 @@ public class EducationServiceImpl implements EducationService {
             if (!errors.isEmpty()) {
                 throw new RuntimeException(String.join("; ", errors));
             }
+            responseVersionService.bump(VersionedAggregate.CLASS);
 
             String message = "Students unassigned from class successfully";
             return ResponseEntity.ok().body(
@@ -1207,7 +1313,7 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getAllLessons() {
         try {
-            List<Lesson> lessons = lessonRepo.findAll();
+            List<Lesson> lessons = lessonRepo.findAllWithDetail();
             List<LessonResponse> lessonResponses = LessonResponse.fromEntityList(lessons);
 
             if (lessonResponses.isEmpty()) {
@@ -1241,7 +1347,7 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getLessonById(Integer lessonId) {
         try {
-            Optional<Lesson> lessonOpt = lessonRepo.findById(lessonId);
+            Optional<Lesson> lessonOpt = lessonRepo.findDetailById(lessonId);
             if (lessonOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                         ResponseObject.builder()
@@ -1348,6 +1454,7 @@ public class EducationServiceImpl implements EducationService {
                     .build();
 
             lessonRepo.save(lesson);
+            responseVersionService.bump(VersionedAggregate.SYLLABUS);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(
                     ResponseObject.builder()
@@ -1385,6 +1492,7 @@ public class EducationServiceImpl implements EducationService {
             lesson.setDuration(request.getDuration());
             lesson.setMaterials(request.getMaterials());
             lessonRepo.save(lesson);
+            responseVersionService.bump(VersionedAggregate.SYLLABUS);
 
             return ResponseEntity.ok().body(
                     ResponseObject.builder()
@@ -1419,6 +1527,7 @@ public class EducationServiceImpl implements EducationService {
             }
 
             lessonRepo.deleteById(lessonId);
+            responseVersionService.bump(VersionedAggregate.SYLLABUS);
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(
                     ResponseObject.builder()
                             .message("Lesson deleted successfully")
@@ -1512,6 +1621,7 @@ public class EducationServiceImpl implements EducationService {
                     .build();
 
             Schedule savedSchedule = scheduleRepo.save(schedule);
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
             ScheduleResponse scheduleResponse = ScheduleResponse.fromEntity(savedSchedule);
             return ResponseEntity.status(HttpStatus.CREATED).body(
                     ResponseObject.builder()
@@ -1558,11 +1668,34 @@ public class EducationServiceImpl implements EducationService {
                     .classes(classes)
                     .build();
 
+            // Check the whole week for time conflicts before the schedule is saved
+            if (request.getActivities() != null && !request.getActivities().isEmpty()) {
+                List<ActivityConflictValidation.Candidate> candidates = request.getActivities().stream()
+                        .map(a -> new ActivityConflictValidation.Candidate(null, a.getTopic(), a.getDayOfWeek(), a.getStartTime(), a.getEndTime()))
+                        .toList();
+                String conflictError = ActivityConflictValidation.validate(schedule, candidates, activityRepo);
+                if (!conflictError.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                            ResponseObject.builder()
+                                    .message(conflictError)
+                                    .success(false)
+                                    .data(null)
+                                    .build()
+                    );
+                }
+            }
+
             Schedule savedSchedule = scheduleRepo.save(schedule);
 
             // Process activities if provided
             List<Activity> savedActivities = new ArrayList<>();
             if (request.getActivities() != null && !request.getActivities().isEmpty()) {
+                Set<Integer> existingLessonIds = lessonRepo.findAllById(request.getActivities().stream()
+                                .map(CreateActivityRequest::getLessonId)
+                                .filter(Objects::nonNull)
+                                .toList()).stream()
+                        .map(Lesson::getId)
+                        .collect(Collectors.toSet());
                 for (CreateActivityRequest activityRequest : request.getActivities()) {
                     // Validate activity request (without scheduleId, as it's being set here)
                     String activityValidationError = CreateActivityValidation.validate(activityRequest, scheduleRepo);
@@ -1582,7 +1715,7 @@ public class EducationServiceImpl implements EducationService {
                             .build();
 
                     if (activityRequest.getLessonId() != null) {
-                        if (lessonRepo.existsById(activityRequest.getLessonId())) {
+                        if (existingLessonIds.contains(activityRequest.getLessonId())) {
                             activity.setLesson(Lesson.builder().id(activityRequest.getLessonId()).build());
                         } else {
                             throw new RuntimeException("Lesson not found for activity: " + activityRequest.getLessonId());
@@ -1593,6 +1726,7 @@ public class EducationServiceImpl implements EducationService {
                 activityRepo.saveAll(savedActivities);
                 savedSchedule.setActivities(savedActivities); // Set activities on the schedule
             }
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
 
             ScheduleResponse scheduleResponse = ScheduleResponse.fromEntity(savedSchedule);
             return ResponseEntity.status(HttpStatus.CREATED).body(
@@ -1646,6 +1780,7 @@ public class EducationServiceImpl implements EducationService {
             schedule.setNote(request.getNote());
 
             Schedule updatedSchedule = scheduleRepo.save(schedule);
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
             ScheduleResponse scheduleResponse = ScheduleResponse.fromEntity(updatedSchedule);
             return ResponseEntity.ok().body(
                     ResponseObject.builder()
@@ -1669,7 +1804,7 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getScheduleById(Integer scheduleId) {
         try {
-            Optional<Schedule> scheduleOpt = scheduleRepo.findById(scheduleId);
+            Optional<Schedule> scheduleOpt = scheduleRepo.findDetailById(scheduleId);
             if (scheduleOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                         ResponseObject.builder()
@@ -1774,6 +1909,7 @@ public class EducationServiceImpl implements EducationService {
             }
 
             scheduleRepo.deleteById(scheduleId);
+            responseVersionService.bump(VersionedAggregate.SCHEDULE);
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(
                     ResponseObject.builder()
                             .message("Schedule deleted successfully")
@@ -1821,7 +1957,7 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getAllSyllabi() {
         try {
-            List<Syllabus> syllabi = syllabusRepo.findAll();
+            List<Syllabus> syllabi = syllabusRepo.findAllWithDetail();
             List<SyllabusResponse> syllabusResponses = SyllabusResponse.fromEntityList(syllabi);
             if (syllabusResponses.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
@@ -1853,7 +1989,7 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getSyllabusById(Integer syllabusId) {
         try {
-            Optional<Syllabus> syllabusOpt = syllabusRepo.findById(syllabusId);
+            Optional<Syllabus> syllabusOpt = syllabusRepo.findDetailById(syllabusId);
             if (syllabusOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                         ResponseObject.builder()
@@ -1994,6 +2130,7 @@ public class EducationServiceImpl implements EducationService {
     @Transactional
     protected Syllabus updateSyllabusLessons(SyllabusRequest request, Syllabus syllabus) throws IllegalAccessException {
         syllabusRepo.save(syllabus);
+        responseVersionService.bump(VersionedAggregate.SYLLABUS);
 
         if (syllabus.getId() != null) {
             List<SyllabusLesson> existingLessons = syllabusLessonRepo.findBySyllabusId(syllabus.getId());
@@ -2044,6 +2181,7 @@ public class EducationServiceImpl implements EducationService {
                     .map(syllabus -> {
                         try {
                             syllabusRepo.delete(syllabus);
+                            responseVersionService.bump(VersionedAggregate.SYLLABUS);
                             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(
                                     ResponseObject.builder()
                                             .message("Syllabus deleted successfully")
@@ -2160,21 +2298,9 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getAllStudentClassAssignments() {
         try {
-            List<StudentClass> studentClassList = studentClassRepo.findAll();
-
-            // Create a map to group assignments by student
-            Map<Integer, List<Map<String, Object>>> studentAssignments = new HashMap<>();
-
-            for (StudentClass sc : studentClassList) {
-                Integer studentId = sc.getStudent().getId();
-
-                Map<String, Object> assignment = new HashMap<>();
-                assignment.put("classId", sc.getClasses().getId());
-                assignment.put("className", sc.getClasses().getName());
-                assignment.put("classGrade", sc.getClasses().getGrade());
-
-                studentAssignments.computeIfAbsent(studentId, k -> new ArrayList<>()).add(assignment);
-            }
+            // Group assignments by student; rows are projected straight into DTOs in one query
+            Map<Integer, List<ClassAssignmentResponse>> studentAssignments = studentClassRepo.findAllAssignments().stream()
+                    .collect(Collectors.groupingBy(ClassAssignmentResponse::studentId));
 
             return ResponseEntity.ok().body(
                     ResponseObject.builder()
@@ -2239,7 +2365,7 @@ public class EducationServiceImpl implements EducationService {
     @Override
     public ResponseEntity<ResponseObject> getTeacherById(Integer teacherId) {
         try {
-            Optional<Account> teacherOpt = accountRepo.findById(teacherId);
+            Optional<Account> teacherOpt = accountRepo.findByIdWithClasses(teacherId);
             if (teacherOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                         ResponseObject.builder()
@@ -2282,35 +2408,34 @@ public class EducationServiceImpl implements EducationService {
     }
 
     @Override
-    public ResponseEntity<List<RoomResponse>> getRoomAvailability(Integer startYear) {
-        try {
-            List<Classes> allClasses = classesRepo.findAll();
-            Set<Integer> occupiedRoomNumbers = new HashSet<>();
-
-            for (Classes classEntity : allClasses) {
-                if (classEntity.getRoomNumber() != null && !classEntity.getRoomNumber().isEmpty()) {
-                    boolean isOccupiedInYear = startYear == null || (classEntity.getStartDate() != null && LocalDate.parse(classEntity.getStartDate()).getYear() == startYear);
-                    if (isOccupiedInYear) {
-                        try {
-                            occupiedRoomNumbers.add(Integer.parseInt(classEntity.getRoomNumber()));
-                        } catch (NumberFormatException e) {
-                            System.err.println("Error parsing room number for class " + classEntity.getId() + ": " + classEntity.getRoomNumber());
-                        }
-                    }
-                }
-            }
+    public ResponseEntity<ResponseObject> getRoomAvailability(Integer startYear, LocalDate from, LocalDate to) {
+        String error = RoomAvailabilityValidation.validate(from, to);
+        if (!error.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    ResponseObject.builder()
+                            .message(error)
+                            .success(false)
+                            .data(null)
+                            .build()
+            );
+        }
 
-            List<RoomResponse> roomAvailabilityList = new ArrayList<>();
-            for (int i = 1; i <= 20; i++) {
-                boolean isOccupied = occupiedRoomNumbers.contains(i);
-                roomAvailabilityList.add(new RoomResponse(i, isOccupied));
-            }
+        BitSet occupiedRooms = from != null
+                ? roomRegistry.findOccupiedRooms(from, to)
+                : roomRegistry.findOccupiedRooms(startYear);
 
-            return ResponseEntity.ok().body(roomAvailabilityList);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ArrayList<>());
+        List<RoomResponse> roomAvailabilityList = new ArrayList<>(roomRegistry.getRoomCount());
+        for (int i = 1; i <= roomRegistry.getRoomCount(); i++) {
+            roomAvailabilityList.add(new RoomResponse(i, occupiedRooms.get(i)));
         }
+
+        return ResponseEntity.ok().body(
+                ResponseObject.builder()
+                        .message("Room availability retrieved successfully")
+                        .success(true)
+                        .data(roomAvailabilityList)
+                        .build()
+        );
     }
 }
 
@@ -1,10 +1,14 @@
 package com.sba301.group1.pes_be.services.serviceImpl;
 
+import com.sba301.group1.pes_be.confgs.AccountCache;
+import com.sba301.group1.pes_be.confgs.RevocationRegistry;
 import com.sba301.group1.pes_be.dto.requests.AddTeacherRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateTeacherRequest;
+import com.sba301.group1.pes_be.dto.response.ParentResponse;
 import com.sba301.group1.pes_be.dto.response.TeacherResponse;
 import com.sba301.group1.pes_be.enums.Role;
 import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.enums.VersionedAggregate;
 import com.sba301.group1.pes_be.models.Account;
 import com.sba301.group1.pes_be.models.Parent;
 import com.sba301.group1.pes_be.models.Student;
@@ -14,6 +18,7 @@ import com.sba301.group1.pes_be.dto.requests.ParentRequest;
 import com.sba301.group1.pes_be.dto.response.ResponseObject;
 import com.sba301.group1.pes_be.services.HRService;
 import com.sba301.group1.pes_be.services.JWTService;
+import com.sba301.group1.pes_be.services.ResponseVersionService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +38,9 @@ public class HRServiceImpl implements HRService {
 
     private final JWTService jwtService;
     private final AccountRepo accountRepo;
+    private final AccountCache accountCache;
+    private final RevocationRegistry revocationRegistry;
+    private final ResponseVersionService responseVersionService;
 
 
     @Override
@@ -135,6 +143,8 @@ public class HRServiceImpl implements HRService {
         Account parentAccount = accountRepo.getReferenceById(parent.getAccount().getId());
         parentAccount.setStatus(Status.ACCOUNT_BAN);
         accountRepo.save(parentAccount);
+        accountCache.invalidate(parentAccount.getEmail());
+        revocationRegistry.revoke(parentAccount.getEmail());
         return ResponseEntity.ok().body(
                 ResponseObject.builder()
                         .message("Parent banned successfully")
@@ -169,6 +179,8 @@ public class HRServiceImpl implements HRService {
         System.out.println(parentAccount);
         parentAccount.setStatus(Status.ACCOUNT_ACTIVE);
         accountRepo.save(parentAccount);
+        accountCache.invalidate(parentAccount.getEmail());
+        revocationRegistry.restore(parentAccount.getEmail());
         return ResponseEntity.ok().body(
                 ResponseObject.builder()
                         .message("Parent deleted successfully")
@@ -189,20 +201,8 @@ public class HRServiceImpl implements HRService {
                             .build());
         }
 
-        List<Parent> parentList = parentRepo.findAll();
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Parent parent : parentList) {
-            Map<String, Object> parentData = new HashMap<>();
-            parentData.put("id", parent.getId());
-            parentData.put("job", parent.getJob());
-            parentData.put("relationshipToChild", parent.getRelationshipToChild());
-            parentData.put("dayOfBirth", parent.getDayOfBirth());
-            parentData.put("status", parent.getAccount().getStatus().getValue());
-            parentData.put("address", parent.getAddress());
-            parentData.put("name", parent.getAccount().getName());
-            parentData.put("phone", parent.getAccount().getPhone());
-            result.add(parentData);
-        }
+        // 1 query join account, select thẳng ra DTO (không load account của từng parent)
+        List<ParentResponse> result = parentRepo.findAllAsResponse();
         return ResponseEntity.ok().body(
                 ResponseObject.builder()
                         .message("Parent retrieved successfully")
@@ -335,6 +335,8 @@ public class HRServiceImpl implements HRService {
         teacherAccount.setIdentityNumber(request.getIdentityNumber());
         teacherAccount.setCreatedAt(java.time.LocalDate.now()); // cập nhật ngày sửa
         accountRepo.save(teacherAccount);
+        accountCache.invalidate(teacherAccount.getEmail());
+        responseVersionService.bump(VersionedAggregate.CLASS);// thong tin lop co ten giao vien
 
         return ResponseEntity.ok().body(
                 ResponseObject.builder()
@@ -1,5 +1,6 @@
 package com.sba301.group1.pes_be.services.serviceImpl;
 
+import com.sba301.group1.pes_be.confgs.AccountCache;
 import com.sba301.group1.pes_be.enums.Status;
 import com.sba301.group1.pes_be.models.Account;
 import com.sba301.group1.pes_be.repositories.AccountRepo;
@@ -7,9 +8,11 @@ import com.sba301.group1.pes_be.services.JWTService;
 import com.sba301.group1.pes_be.utils.CookieUtil;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -39,11 +42,31 @@ public class JWTServiceImpl implements JWTService {
 
     private final AccountRepo accountRepo;
 
+    private final AccountCache accountCache;
+
+    // Key va parser dung chung, thread-safe, chi build mot lan
+    private Key signingKey;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     @Override
     public String extractEmailFromJWT(String jwt) {
         return getClaim(jwt, Claims::getSubject);
     }
 
+    @Override
+    public Claims extractClaimsFromJWT(String jwt) {
+        return extractAllClaimsFromToken(jwt);
+    }
+
     @Override
     public Account extractAccountFromCookie(HttpServletRequest request) {
         Cookie cookie = CookieUtil.getCookie(request, "refresh");
@@ -53,8 +76,13 @@ public class JWTServiceImpl implements JWTService {
 
         String refreshToken = cookie.getValue();
         String email = extractEmailFromJWT(refreshToken);
+        if (email == null) {
+            return null;
+        }
 
-        return accountRepo.findByEmailAndStatus(email, Status.ACCOUNT_ACTIVE).orElse(null);
+        // dung chung cache voi JWT filter, request da qua filter thi khong query account lan nua
+        Account account = accountCache.get(email, key -> accountRepo.findByEmail(key).orElse(null));
+        return account != null && account.getStatus() == Status.ACCOUNT_ACTIVE ? account : null;
 
     }
 
@@ -67,24 +95,25 @@ public class JWTServiceImpl implements JWTService {
     }
 
     private Claims extractAllClaimsFromToken(String token) {
-        if (token.split("\\.").length != 3) {
+        if (token == null || countDots(token) != 2) {
             return null;
         }
 
         try {
-            return Jwts
-                    .parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             return null;
         }
     }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+    private static int countDots(String token) {
+        int count = 0;
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) == '.') {
+                count++;
+            }
+        }
+        return count;
     }
 
 
@@ -110,7 +139,7 @@ public class JWTServiceImpl implements JWTService {
                 .setSubject(user.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiredTime))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
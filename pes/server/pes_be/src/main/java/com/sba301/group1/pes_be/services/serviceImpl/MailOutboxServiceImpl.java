@@ -0,0 +1,133 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.MailOutbox;
+import com.sba301.group1.pes_be.repositories.MailOutboxRepo;
+import com.sba301.group1.pes_be.services.MailOutboxService;
+import com.sba301.group1.pes_be.services.MailService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Claim mail den han trong outbox (MAIL_SENDING + lease {@code mail-outbox-lease}) roi giao cho pool
+ * {@code mailExecutor}, moi task gui {@code mail-outbox-messages-per-connection} mail tren cung 1 ket noi SMTP.
+ * Thread scheduler khong cho gui xong; mail da claim khong duoc poll lai cho toi khi het lease.
+ * Gui loi thi retry voi backoff luy thua, qua {@code mail-outbox-max-attempts} lan thi chuyen MAIL_DEAD.
+ */
+@Service
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    private static final List<Status> DUE_STATUSES = List.of(Status.MAIL_PENDING, Status.MAIL_SENDING);
+
+    private final MailOutboxRepo mailOutboxRepo;
+    private final MailService mailService;
+    private final ThreadPoolTaskExecutor mailExecutor;
+
+    @Value("${mail-outbox-batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail-outbox-messages-per-connection:20}")
+    private int messagesPerConnection;
+
+    @Value("${mail-outbox-max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${mail-outbox-backoff:30000}")
+    private long backoff;
+
+    @Value("${mail-outbox-max-backoff:3600000}")
+    private long maxBackoff;
+
+    @Value("${mail-outbox-lease:600000}")
+    private long lease;
+
+    public MailOutboxServiceImpl(MailOutboxRepo mailOutboxRepo,
+                                 MailService mailService,
+                                 @Qualifier("mailExecutor") ThreadPoolTaskExecutor mailExecutor) {
+        this.mailOutboxRepo = mailOutboxRepo;
+        this.mailService = mailService;
+        this.mailExecutor = mailExecutor;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${mail-outbox-poll-interval:5000}")
+    public void dispatchPending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> dueIds = mailOutboxRepo.findDueIds(DUE_STATUSES, now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return;
+        }
+
+        // chi gui cac dong claim duoc, dispatcher khac (hoac lan poll sau) khong lay lai trong luc lease con han
+        String token = UUID.randomUUID().toString();
+        if (mailOutboxRepo.claim(dueIds, DUE_STATUSES, now, Status.MAIL_SENDING, now.plus(Duration.ofMillis(lease)), token) == 0) {
+            return;
+        }
+        List<MailOutbox> claimed = mailOutboxRepo.findAllByClaimTokenAndStatus(token, Status.MAIL_SENDING);
+
+        // chia batch theo so mail moi ket noi SMTP, cac batch chay song song tren mailExecutor
+        for (int i = 0; i < claimed.size(); i += messagesPerConnection) {
+            List<MailOutbox> chunk = claimed.subList(i, Math.min(i + messagesPerConnection, claimed.size()));
+            mailExecutor.execute(() -> deliver(chunk));
+        }
+    }
+
+    private void deliver(List<MailOutbox> mails) {
+        Map<Integer, String> failures;
+        try {
+            failures = mailService.sendBatch(mails);
+        } catch (RuntimeException ex) {
+            // loi ngoai du kien: tinh ca chunk la gui loi de van tang attempts (khong bi poll lai mai)
+            String error = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getName();
+            failures = new HashMap<>();
+            for (MailOutbox mail : mails) {
+                failures.put(mail.getId(), error);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (MailOutbox mail : mails) {
+            mail.setClaimToken(null);
+            if (!failures.containsKey(mail.getId())) {
+                mail.setStatus(Status.MAIL_SENT);
+                mail.setSentAt(now);
+                mail.setLastError(null);
+                continue;
+            }
+
+            int attempts = mail.getAttempts() + 1;
+            mail.setAttempts(attempts);
+            mail.setLastError(truncate(failures.get(mail.getId())));
+            if (attempts >= maxAttempts) {
+                mail.setStatus(Status.MAIL_DEAD);
+            } else {
+                mail.setStatus(Status.MAIL_PENDING);
+                mail.setNextAttemptAt(now.plus(Duration.ofMillis(nextBackoff(attempts))));
+            }
+        }
+        mailOutboxRepo.saveAll(mails);
+    }
+
+    // 30s, 60s, 120s, ... toi da maxBackoff
+    private long nextBackoff(int attempts) {
+        long delay = backoff << Math.min(attempts - 1, 20);
+        return Math.min(delay, maxBackoff);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
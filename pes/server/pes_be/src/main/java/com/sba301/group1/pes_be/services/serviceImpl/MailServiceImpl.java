@@ -1,21 +1,51 @@
 package com.sba301.group1.pes_be.services.serviceImpl;
 
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.MailOutbox;
+import com.sba301.group1.pes_be.repositories.MailOutboxRepo;
 import com.sba301.group1.pes_be.services.MailService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 public class MailServiceImpl implements MailService {
+    private static final String LOGO_PATH = "static/img/mam-non-merrystar-long-bien-5.jpg";
+
     private final JavaMailSender javaMailSender;
-    private final SpringTemplateEngine templateEngine;
+    private final TemplateEngine templateEngine;
+    private final MailOutboxRepo mailOutboxRepo;
+
+    // logo doc 1 lan khi khoi dong, dung chung cho moi mail
+    private final ByteArrayResource logo;
+
+    public MailServiceImpl(JavaMailSender javaMailSender,
+                           @Qualifier("mailTemplateEngine") TemplateEngine templateEngine,
+                           MailOutboxRepo mailOutboxRepo) throws IOException {
+        this.javaMailSender = javaMailSender;
+        this.templateEngine = templateEngine;
+        this.mailOutboxRepo = mailOutboxRepo;
+        try (InputStream in = new ClassPathResource(LOGO_PATH).getInputStream()) {
+            this.logo = new ByteArrayResource(in.readAllBytes());
+        }
+    }
 
     /**
      * @param to địa chỉ nhận
@@ -30,32 +60,100 @@ public class MailServiceImpl implements MailService {
                          String heading,
                          String body) {
         try {
-            // 1) Tạo MimeMessage
-            MimeMessage msg = javaMailSender.createMimeMessage();
-            // true = multipart
-            MimeMessageHelper helper = new MimeMessageHelper(msg, true, "UTF-8");
-
-            // 2) Chuẩn bị Thymeleaf context và render HTML
-            Context context = new Context();
-            context.setVariable("title", subject);
-            context.setVariable("heading", heading);
-            context.setVariable("body", body);
-            String html = templateEngine.process("email/base", context);
-
-            // 3) Set to, subject, html content
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(html, true);
-
-            // 4) Đính kèm logo inline (CID = "logo")
-            ClassPathResource logo = new ClassPathResource("static/img/mam-non-merrystar-long-bien-5.jpg");
-            helper.addInline("logo", logo);
-
-            // 5) Gửi mail
-            javaMailSender.send(msg);
+            javaMailSender.send(buildMessage(to, subject, heading, body));
 
         } catch (MessagingException ex) {
             throw new IllegalStateException("Failed to send email", ex);
         }
     }
+
+    /**
+     * Gửi nhiều mail qua cùng 1 kết nối SMTP (1 lần handshake TLS + AUTH cho cả batch).
+     *
+     * @return id outbox của các mail gửi lỗi -> lý do lỗi
+     */
+    @Override
+    public Map<Integer, String> sendBatch(List<MailOutbox> mails) {
+        Map<Integer, String> failures = new HashMap<>();
+        Map<MimeMessage, Integer> idByMessage = new IdentityHashMap<>();
+        for (MailOutbox mail : mails) {
+            try {
+                idByMessage.put(buildMessage(mail.getRecipient(), mail.getSubject(), mail.getHeading(), mail.getBody()), mail.getId());
+            } catch (MessagingException | RuntimeException ex) {
+                // lỗi render template/địa chỉ sai chỉ làm hỏng mail này, không làm hỏng cả batch
+                failures.put(mail.getId(), ex.getMessage() != null ? ex.getMessage() : ex.getClass().getName());
+            }
+        }
+        if (idByMessage.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            javaMailSender.send(idByMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException ex) {
+            // chỉ các message trong failedMessages là lỗi, phần còn lại đã gửi được
+            ex.getFailedMessages().forEach((message, cause) -> {
+                Integer id = idByMessage.get(message);
+                if (id != null) {
+                    failures.put(id, cause.getMessage());
+                }
+            });
+            if (ex.getFailedMessages().isEmpty()) {
+                idByMessage.values().forEach(id -> failures.put(id, ex.getMessage()));
+            }
+        } catch (MailException ex) {
+            // lỗi kết nối/xác thực: cả batch chưa gửi
+            idByMessage.values().forEach(id -> failures.put(id, ex.getMessage()));
+        }
+        return failures;
+    }
+
+    private MimeMessage buildMessage(String to,
+                                     String subject,
+                                     String heading,
+                                     String body) throws MessagingException {
+        // 1) Tạo MimeMessage
+        MimeMessage msg = javaMailSender.createMimeMessage();
+        // true = multipart
+        MimeMessageHelper helper = new MimeMessageHelper(msg, true, "UTF-8");
+
+        // 2) Chuẩn bị Thymeleaf context và render HTML
+        Context context = new Context();
+        context.setVariable("title", subject);
+        context.setVariable("heading", heading);
+        context.setVariable("body", body);
+        String html = templateEngine.process("email/base", context);
+
+        // 3) Set to, subject, html content
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(html, true);
+
+        // 4) Đính kèm logo inline (CID = "logo")
+        helper.addInline("logo", logo, "image/jpeg");
+        return msg;
+    }
+
+    /**
+     * Ghi mail vao outbox trong transaction hien tai; MailOutboxService gui sau o background.
+     */
+    @Override
+    public void queueMail(String to,
+                          String subject,
+                          String heading,
+                          String body) {
+        LocalDateTime now = LocalDateTime.now();
+        mailOutboxRepo.save(
+                MailOutbox.builder()
+                        .recipient(to)
+                        .subject(subject)
+                        .heading(heading)
+                        .body(body)
+                        .status(Status.MAIL_PENDING)
+                        .attempts(0)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build()
+        );
+    }
 }
@@ -1,5 +1,6 @@
 package com.sba301.group1.pes_be.services.serviceImpl;
 
+import com.sba301.group1.pes_be.confgs.AccountCache;
 import com.sba301.group1.pes_be.dto.requests.AddChildRequest;
 import com.sba301.group1.pes_be.dto.requests.CancelAdmissionForm;
 import com.sba301.group1.pes_be.dto.requests.RefillFormRequest;
@@ -7,11 +8,16 @@ import com.sba301.group1.pes_be.dto.requests.SubmitAdmissionFormRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateChildRequest;
 import com.sba301.group1.pes_be.dto.requests.UpdateParentRequest;
 import com.sba301.group1.pes_be.dto.response.ActivityResponse;
+import com.sba301.group1.pes_be.dto.response.AdmissionFormResponse;
+import com.sba301.group1.pes_be.dto.response.ChildResponse;
 import com.sba301.group1.pes_be.dto.response.ResponseObject;
 import com.sba301.group1.pes_be.dto.response.ScheduleResponse;
+import com.sba301.group1.pes_be.dto.response.StudentClassWeekResponse;
 import com.sba301.group1.pes_be.email.Format;
+import com.sba301.group1.pes_be.enums.Grade;
 import com.sba301.group1.pes_be.enums.Role;
 import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.enums.VersionedAggregate;
 import com.sba301.group1.pes_be.models.Account;
 import com.sba301.group1.pes_be.models.Activity;
 import com.sba301.group1.pes_be.models.AdmissionForm;
@@ -21,11 +27,8 @@ import com.sba301.group1.pes_be.models.Lesson;
 import com.sba301.group1.pes_be.models.Parent;
 import com.sba301.group1.pes_be.models.Schedule;
 import com.sba301.group1.pes_be.models.Student;
-import com.sba301.group1.pes_be.models.StudentClass;
-import com.sba301.group1.pes_be.models.Syllabus;
 import com.sba301.group1.pes_be.models.SyllabusLesson;
 import com.sba301.group1.pes_be.repositories.AccountRepo;
-import com.sba301.group1.pes_be.repositories.ActivityRepo;
 import com.sba301.group1.pes_be.repositories.AdmissionFormRepo;
 import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
 import com.sba301.group1.pes_be.repositories.ClassesRepo;
@@ -33,10 +36,12 @@ import com.sba301.group1.pes_be.repositories.ParentRepo;
 import com.sba301.group1.pes_be.repositories.ScheduleRepo;
 import com.sba301.group1.pes_be.repositories.StudentRepo;
 import com.sba301.group1.pes_be.repositories.SyllabusLessonRepo;
-import com.sba301.group1.pes_be.repositories.SyllabusRepo;
+import com.sba301.group1.pes_be.services.ActiveTermRegistry;
+import com.sba301.group1.pes_be.services.AdmissionCapacityService;
 import com.sba301.group1.pes_be.services.JWTService;
 import com.sba301.group1.pes_be.services.MailService;
 import com.sba301.group1.pes_be.services.ParentService;
+import com.sba301.group1.pes_be.services.ResponseVersionService;
 import com.sba301.group1.pes_be.validations.ParentValidation.ChildValidation;
 import com.sba301.group1.pes_be.validations.ParentValidation.FormByParentValidation;
 import com.sba301.group1.pes_be.validations.ParentValidation.UpdateProfileValidation;
@@ -45,10 +50,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -73,14 +79,20 @@ public class ParentServiceImpl implements ParentService {
 
     private final MailService mailService;
 
-    private final ActivityRepo activityRepo;
-
-    private final SyllabusRepo syllabusRepo;
+    private final ClassesRepo classesRepo;
 
     private final ScheduleRepo scheduleRepo;
 
     private final SyllabusLessonRepo syllabusLessonRepo;
 
+    private final AccountCache accountCache;
+
+    private final AdmissionCapacityService admissionCapacityService;
+
+    private final ActiveTermRegistry activeTermRegistry;
+
+    private final ResponseVersionService responseVersionService;
+
     // Private helper method to convert list of Activity entities to Responses
     private List<ActivityResponse> convertToResponse(List<Activity> activities) {
         return ActivityResponse.fromEntityList(activities);
@@ -106,30 +118,13 @@ public class ParentServiceImpl implements ParentService {
             );
         }
 
-        List<Map<String, Object>> admissionFormList = admissionFormRepo.findAll().stream()
-                //kiểm tra, nếu form ko cos thì vẫn hiện, chứ ko bị crash, //Crash tại form.getParent().getId() ==> trước khi tạo form phải save parent
-                .filter(form -> form.getParent() != null && form.getParent().getId().equals(account.getParent().getId()))
-                .filter(form -> form.getStudent() != null) // bỏ qua các AdmissionForm không có học sinh ==> tránh bị lỗi null
-                .sorted(Comparator.comparing(AdmissionForm::getSubmittedDate).reversed()) // sort form theo ngày chỉnh sửa mới nhất
-                .map(this::getFormDetail)
-                .toList();
+        int parentId = account.getParent().getId();
 
-        List<Map<String, Object>> studentList = studentRepo.findAllByParent_Id(account.getParent().getId()).stream()
-                .map(student -> {
-                    Map<String, Object> studentDetail = new HashMap<>();
-                    studentDetail.put("id", student.getId());
-                    studentDetail.put("name", student.getName());
-                    studentDetail.put("gender", student.getGender().toLowerCase());
-                    studentDetail.put("dateOfBirth", student.getDateOfBirth());
-                    studentDetail.put("placeOfBirth", student.getPlaceOfBirth());
-                    studentDetail.put("profileImage", student.getProfileImage());
-                    studentDetail.put("householdRegistrationImg", student.getHouseholdRegistrationImg());
-                    studentDetail.put("birthCertificateImg", student.getBirthCertificateImg());
-                    studentDetail.put("isStudent", student.isStudent());
-                    studentDetail.put("hadForm", !student.getAdmissionFormList().isEmpty());//trong từng học sinh check đã tạo form chưa
-                    return studentDetail;
-                })
-                .toList();
+        // lọc theo parent + sort theo ngày nộp mới nhất ngay trong SQL, select thẳng ra DTO
+        List<AdmissionFormResponse> admissionFormList = admissionFormRepo.findAllByParentIdAsResponse(parentId);
+
+        // hadForm tính bằng EXISTS trong cùng query, không cần query riêng danh sách student đã có form
+        List<ChildResponse> studentList = studentRepo.findChildrenForFormListByParentId(parentId);
 
         Map<String, Object> data = new HashMap<>();
         data.put("admissionFormList", admissionFormList);
@@ -145,29 +140,9 @@ public class ParentServiceImpl implements ParentService {
         );
     }
 
-    private Map<String, Object> getFormDetail(AdmissionForm form) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("id", form.getId());
-        data.put("studentId", form.getStudent().getId());
-        data.put("studentName", form.getStudent().getName());
-        data.put("studentGender", form.getStudent().getGender());
-        data.put("studentDateOfBirth", form.getStudent().getDateOfBirth());
-        data.put("studentPlaceOfBirth", form.getStudent().getPlaceOfBirth());
-        data.put("profileImage", form.getStudent().getProfileImage());
-        data.put("householdRegistrationImg", form.getStudent().getHouseholdRegistrationImg());
-        data.put("birthCertificateImg", form.getStudent().getBirthCertificateImg());
-        data.put("childCharacteristicsFormImg", form.getChildCharacteristicsFormImg());
-        data.put("commitmentImg", form.getCommitmentImg());
-        data.put("householdRegistrationAddress", form.getHouseholdRegistrationAddress());
-        data.put("submittedDate", form.getSubmittedDate());
-        data.put("cancelReason", form.getCancelReason());
-        data.put("note", form.getNote());
-        data.put("status", form.getStatus());
-        return data;
-    }
-
     //submit form
     @Override
+    @Transactional
     public ResponseEntity<ResponseObject> submitAdmissionForm(SubmitAdmissionFormRequest request, HttpServletRequest httpRequest) {
         // 1. Lấy account từ cookie
         Account account = jwtService.extractAccountFromCookie(httpRequest);
@@ -204,37 +179,38 @@ public class ParentServiceImpl implements ParentService {
             );
         }
 
-        // 4. Tìm kỳ tuyển sinh đang ACTIVE
-        AdmissionTerm activeTerm = admissionTermRepo.findAll().stream()
-                .filter(t -> t.getStatus().equals(Status.ACTIVE_TERM))
-                .findFirst()
-                .orElse(null);
-
-        if (activeTerm == null) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+        // 4. Kiểm tra độ tuổi phù hợp, từ tuổi suy ra grade
+        int admissionYear = LocalDate.now().getYear();
+        Grade grade = isAgeValidForGrade(student.getDateOfBirth(), admissionYear)
+                ? Grade.fromAge(admissionYear - student.getDateOfBirth().getYear())
+                : null;
+        if (grade == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                     ResponseObject.builder()
-                            .message("No active admission term currently open")
+                            .message("Student's age does not match the required grade for current term")
                             .success(false)
                             .data(null)
                             .build()
             );
         }
 
-        // 5. Kiểm tra độ tuổi phù hợp
-        if (!isAgeValidForGrade(student.getDateOfBirth(), activeTerm.getYear())) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+        // 5. Tìm kỳ tuyển sinh đang ACTIVE của grade có khoảng ngày chứa thời điểm nộp (registry trong bộ nhớ, không scan bảng)
+        Integer activeTermId = activeTermRegistry.findActiveTermId(grade, LocalDateTime.now());
+        if (activeTermId == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
                     ResponseObject.builder()
-                            .message("Student's age does not match the required grade for current term")
+                            .message("No active admission term currently open")
                             .success(false)
                             .data(null)
                             .build()
             );
         }
+        AdmissionTerm activeTerm = admissionTermRepo.getReferenceById(activeTermId);
 
         // 6. Kiểm tra xem học sinh đã nộp form kỳ này chưa
         List<AdmissionForm> existingForms = admissionFormRepo
                 .findAllByParent_IdAndStudent_Id(account.getParent().getId(), student.getId()).stream()
-                .filter(form -> form.getAdmissionTerm() != null && Objects.equals(form.getAdmissionTerm().getId(), activeTerm.getId()))
+                .filter(form -> form.getAdmissionTerm() != null && Objects.equals(form.getAdmissionTerm().getId(), activeTermId))
                 .toList();
 
         boolean hasSubmittedForm = existingForms.stream()
@@ -253,7 +229,18 @@ public class ParentServiceImpl implements ParentService {
             );
         }
 
-        // 7. Lưu form mới
+        // 7. Giữ chỗ trong chỉ tiêu của term (atomic, không vượt maxNumberRegistration khi nhiều người nộp cùng lúc)
+        if (!admissionCapacityService.reserve(activeTermId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                    ResponseObject.builder()
+                            .message("The current admission term has reached its registration limit")
+                            .success(false)
+                            .data(null)
+                            .build()
+            );
+        }
+
+        // 8. Lưu form mới
         AdmissionForm form = AdmissionForm.builder()
                 .parent(account.getParent())
                 .student(student)
@@ -268,19 +255,15 @@ public class ParentServiceImpl implements ParentService {
 
         admissionFormRepo.save(form);
 
-        try {
-            String subject = "[PES] Submitted Form";
-            String heading = "Admission Form submitted";
-            String bodyHtml = Format.getAdmissionSubmittedBody(account.getName(), student.getName(), LocalDate.now());
-            mailService.sendMail(
-                    account.getEmail(),
-                    subject,
-                    heading,
-                    bodyHtml
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to send email notification: " + e.getMessage());
-        }
+        String subject = "[PES] Submitted Form";
+        String heading = "Admission Form submitted";
+        String bodyHtml = Format.getAdmissionSubmittedBody(account.getName(), student.getName(), LocalDate.now());
+        mailService.queueMail(
+                account.getEmail(),
+                subject,
+                heading,
+                bodyHtml
+        );
 
         return ResponseEntity.ok().body(
                 ResponseObject.builder()
@@ -303,6 +286,7 @@ public class ParentServiceImpl implements ParentService {
 
     // cancel form
     @Override
+    @Transactional
     public ResponseEntity<ResponseObject> cancelAdmissionForm(CancelAdmissionForm request, HttpServletRequest httpRequest) {
 
         // 1. Lấy account từ cookie
@@ -344,21 +328,20 @@ public class ParentServiceImpl implements ParentService {
 
         form.setStatus(Status.CANCELLED);
         admissionFormRepo.save(form);
+        if (form.getAdmissionTerm() != null) {
+            admissionCapacityService.release(form.getAdmissionTerm().getId());
+        }
 
 
-        try {
-            String subject = "[PES] Cancelled Form";
-            String heading = "Admission Form cancelled";
-            String bodyHtml = Format.getAdmissionCancelledBody(account.getName());
-            mailService.sendMail(
-                    account.getEmail(),
-                    subject,
-                    heading,
-                    bodyHtml
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to send email notification: " + e.getMessage());
-        }
+        String subject = "[PES] Cancelled Form";
+        String heading = "Admission Form cancelled";
+        String bodyHtml = Format.getAdmissionCancelledBody(account.getName());
+        mailService.queueMail(
+                account.getEmail(),
+                subject,
+                heading,
+                bodyHtml
+        );
 
 
         return ResponseEntity.ok().body(
@@ -394,25 +377,8 @@ public class ParentServiceImpl implements ParentService {
             );
         }
 
-        List<Map<String, Object>> studentList = parent.getStudentList().stream()
-                .sorted(Comparator.comparing(Student::getModifiedDate, Comparator.nullsLast(Comparator.reverseOrder())))
-                .map(student -> {
-                    Map<String, Object> studentDetail = new HashMap<>();
-                    studentDetail.put("id", student.getId());
-                    studentDetail.put("name", student.getName());
-                    studentDetail.put("gender", student.getGender());
-                    studentDetail.put("dateOfBirth", student.getDateOfBirth());
-                    studentDetail.put("placeOfBirth", student.getPlaceOfBirth());
-                    studentDetail.put("profileImage", student.getProfileImage());
-                    studentDetail.put("birthCertificateImg", student.getBirthCertificateImg());
-                    studentDetail.put("householdRegistrationImg", student.getHouseholdRegistrationImg());
-                    studentDetail.put("modifiedDate", student.getModifiedDate());
-                    studentDetail.put("isStudent", student.isStudent());
-                    studentDetail.put("hadForm", !student.getAdmissionFormList().isEmpty());
-                    // updateCount no longer used
-                    return studentDetail;
-                })
-                .toList();
+        // sort theo modifiedDate mới nhất (null cuối), hadForm tính bằng EXISTS thay vì load admissionFormList
+        List<ChildResponse> studentList = studentRepo.findChildrenByParentId(parent.getId());
 
         return ResponseEntity.status(HttpStatus.OK).body(
                 ResponseObject.builder()
@@ -528,6 +494,7 @@ public class ParentServiceImpl implements ParentService {
         student.setHouseholdRegistrationImg(request.getHouseholdRegistrationImg());
         student.setModifiedDate(LocalDate.now());
         studentRepo.save(student);
+        responseVersionService.bump(VersionedAggregate.CLASS);// danh sach hoc sinh trong lop co ten hoc sinh
 
         return ResponseEntity.status(HttpStatus.OK).body(
                 ResponseObject.builder()
@@ -632,6 +599,7 @@ public class ParentServiceImpl implements ParentService {
         account.setPhone(request.getPhone());
         account.setGender(request.getGender());
         accountRepo.save(account);
+        accountCache.invalidate(account.getEmail());
 
         // Update parent
         parent.setAddress(request.getAddress());
@@ -650,6 +618,7 @@ public class ParentServiceImpl implements ParentService {
     }
 
     @Override
+    @Transactional
     public ResponseEntity<ResponseObject> refillForm(RefillFormRequest request, HttpServletRequest httpRequest) {
         AdmissionForm form = admissionFormRepo.findById(request.getFormId()).orElse(null);
 
@@ -674,6 +643,17 @@ public class ParentServiceImpl implements ParentService {
             );
         }
 
+        // form quay lại PENDING_APPROVAL nên phải giữ lại chỗ trong term
+        if (form.getAdmissionTerm() != null && !admissionCapacityService.reserve(form.getAdmissionTerm().getId())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                    ResponseObject.builder()
+                            .message("The admission term has reached its registration limit")
+                            .success(false)
+                            .data(null)
+                            .build()
+            );
+        }
+
         form.setStatus(Status.PENDING_APPROVAL);
         form.setChildCharacteristicsFormImg(request.getChildCharacteristicsFormImg());
         form.setHouseholdRegistrationAddress(request.getHouseholdRegistrationAddress());
@@ -682,19 +662,15 @@ public class ParentServiceImpl implements ParentService {
         form.setSubmittedDate(LocalDate.now());
         admissionFormRepo.save(form);
 
-        try {
-            String subject = "[PES] Refilled Form";
-            String heading = "Admission Form refilled";
-            String bodyHtml = Format.getAdmissionRefilledBody(form.getParent().getAccount().getName(), form.getStudent().getName(), LocalDate.now());
-            mailService.sendMail(
-                    form.getParent().getAccount().getEmail(),
-                    subject,
-                    heading,
-                    bodyHtml
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to send email notification: " + e.getMessage());
-        }
+        String subject = "[PES] Refilled Form";
+        String heading = "Admission Form refilled";
+        String bodyHtml = Format.getAdmissionRefilledBody(form.getParent().getAccount().getName(), form.getStudent().getName(), LocalDate.now());
+        mailService.queueMail(
+                form.getParent().getAccount().getEmail(),
+                subject,
+                heading,
+                bodyHtml
+        );
 
         return ResponseEntity.ok().body(
                 ResponseObject.builder()
@@ -706,7 +682,7 @@ public class ParentServiceImpl implements ParentService {
     }
 
     @Override
-    public ResponseEntity<ResponseObject> getStudentClassDetailsGroupedByWeek(int studentId, HttpServletRequest request) {
+    public ResponseEntity<ResponseObject> checkStudentAccess(int studentId, HttpServletRequest request) {
         Account account = jwtService.extractAccountFromCookie(request);
         if (account == null || !account.getRole().equals(Role.PARENT)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
@@ -729,76 +705,88 @@ public class ParentServiceImpl implements ParentService {
             );
         }
 
-        List<Map<String, Object>> classDetails = new ArrayList<>();
+        return null;
+    }
 
-        for (StudentClass sc : student.getStudentClassList()) {
-            Classes cls = sc.getClasses();
-            Integer classId = cls.getId();
+    @Override
+    public ResponseEntity<ResponseObject> getStudentClassDetailsGroupedByWeek(int studentId, Integer fromWeek, Integer toWeek, HttpServletRequest request) {
+        ResponseEntity<ResponseObject> denied = checkStudentAccess(studentId, request);
+        if (denied != null) {
+            return denied;
+        }
 
-            Map<String, Object> detail = new HashMap<>();
-            detail.put("classId", classId);
-            detail.put("className", cls.getName());
-            detail.put("grade", cls.getGrade());
-            detail.put("room", cls.getRoomNumber());
+        if ((fromWeek != null && fromWeek < 1) || (toWeek != null && toWeek < 1)
+                || (fromWeek != null && toWeek != null && toWeek < fromWeek)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    ResponseObject.builder()
+                            .message("Invalid week range")
+                            .success(false)
+                            .data(null)
+                            .build()
+            );
+        }
+
+        // Số query cố định: lớp (kèm syllabus), lesson của các syllabus, schedule (kèm activity, lesson) trong khoảng tuần
+        List<Classes> classes = classesRepo.findAllByStudentIdWithSyllabus(studentId);
+        if (classes.isEmpty()) {
+            return ResponseEntity.ok(ResponseObject.builder()
+                    .message("Student class detail retrieved successfully")
+                    .success(true)
+                    .data(new ArrayList<>())
+                    .build());
+        }
 
-            Syllabus syllabus = syllabusRepo.findById(cls.getSyllabus().getId()).orElse(null);
-            detail.put("syllabus", syllabus);
+        Map<Integer, List<StudentClassWeekResponse.Lesson>> lessonsBySyllabus = new HashMap<>();
+        List<Integer> syllabusIds = classes.stream()
+                .filter(cls -> cls.getSyllabus() != null)
+                .map(cls -> cls.getSyllabus().getId())
+                .distinct()
+                .toList();
+        if (!syllabusIds.isEmpty()) {
+            for (SyllabusLesson sl : syllabusLessonRepo.findAllWithLessonBySyllabusIdIn(syllabusIds)) {
+                Lesson lesson = sl.getLesson();
+                lessonsBySyllabus.computeIfAbsent(sl.getSyllabus().getId(), id -> new ArrayList<>())
+                        .add(new StudentClassWeekResponse.Lesson(lesson.getId(), lesson.getTopic(), lesson.getDescription()));
+            }
+        }
 
-            assert syllabus != null;
-            List<SyllabusLesson> syllabusLessons = syllabusLessonRepo.findBySyllabusId(syllabus.getId());
-            List<Map<String, Object>> lessonList = syllabusLessons.stream()
-                    .map(sl -> {
-                        Lesson lesson = sl.getLesson();
-                        Map<String, Object> l = new HashMap<>();
-                        l.put("lessonId", lesson.getId());
-                        l.put("topic", lesson.getTopic());
-                        l.put("description", lesson.getDescription());
-                        return l;
-                    }).collect(Collectors.toList());
+        Map<Integer, List<Schedule>> schedulesByClass = scheduleRepo.findAllWithActivitiesByClassIdsAndWeekRange(
+                        classes.stream().map(Classes::getId).toList(),
+                        fromWeek != null ? fromWeek : 1,
+                        toWeek != null ? toWeek : Integer.MAX_VALUE
+                ).stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getClasses().getId()));
 
-            List<Schedule> schedules = scheduleRepo.findByClassesIdOrderByWeekNumber(classId);
-            List<Map<String, Object>> scheduleData = new ArrayList<>();
+        List<StudentClassWeekResponse> classDetails = new ArrayList<>(classes.size());
+        for (Classes cls : classes) {
+            List<StudentClassWeekResponse.Lesson> lessonList = cls.getSyllabus() != null
+                    ? lessonsBySyllabus.getOrDefault(cls.getSyllabus().getId(), List.of())
+                    : List.of();
 
-            LocalDate classStart = LocalDate.parse(cls.getStartDate());
+            List<Schedule> schedules = schedulesByClass.getOrDefault(cls.getId(), List.of());
+            List<StudentClassWeekResponse.Week> scheduleData = new ArrayList<>(schedules.size());
+            LocalDate classStart = cls.getStartDate();
 
             for (Schedule schedule : schedules) {
-                Map<String, Object> weekInfo = new HashMap<>();
                 int weekNumber = schedule.getWeekNumber();
-                LocalDate weekStart = classStart.plusWeeks(weekNumber - 1);
-                LocalDate weekEnd = weekStart.plusDays(4);
-
-                weekInfo.put("weekNumber", weekNumber);
-                weekInfo.put("startDate", weekStart);
-                weekInfo.put("endDate", weekEnd);
-                weekInfo.put("lessons", lessonList);
-
-                List<Activity> activities = activityRepo.findByScheduleId(schedule.getId());
-                List<Map<String, Object>> activityData = new ArrayList<>();
-                for (Activity act : activities) {
-                    Map<String, Object> actMap = new HashMap<>();
-                    actMap.put("dayOfWeek", act.getDayOfWeek());
-                    actMap.put("startTime", act.getStartTime());
-                    actMap.put("endTime", act.getEndTime());
-
-                    if (act.getLesson() != null) {
-                        actMap.put("type", "lesson");
-                        actMap.put("lessonId", act.getLesson().getId());
-                        actMap.put("topic", act.getLesson().getTopic());
-                        actMap.put("description", act.getLesson().getDescription());
-                    } else {
-                        actMap.put("type", "extra");
-                        actMap.put("topic", act.getTopic());
-                        actMap.put("description", act.getDescription());
-                    }
-                    activityData.add(actMap);
+                LocalDate weekStart = classStart != null ? classStart.plusWeeks(weekNumber - 1) : null;
+                LocalDate weekEnd = weekStart != null ? weekStart.plusDays(4) : null;
+
+                List<StudentClassWeekResponse.Activity> activityData = new ArrayList<>(schedule.getActivities().size());
+                for (Activity act : schedule.getActivities()) {
+                    Lesson lesson = act.getLesson();
+                    activityData.add(lesson != null
+                            ? new StudentClassWeekResponse.Activity(act.getDayOfWeek(), act.getStartTime(), act.getEndTime(),
+                                    "lesson", lesson.getId(), lesson.getTopic(), lesson.getDescription())
+                            : new StudentClassWeekResponse.Activity(act.getDayOfWeek(), act.getStartTime(), act.getEndTime(),
+                                    "extra", null, act.getTopic(), act.getDescription()));
                 }
 
-                weekInfo.put("activities", activityData);
-                scheduleData.add(weekInfo);
+                scheduleData.add(new StudentClassWeekResponse.Week(weekNumber, weekStart, weekEnd, lessonList, activityData));
             }
 
-            detail.put("schedules", scheduleData);
-            classDetails.add(detail);
+            classDetails.add(new StudentClassWeekResponse(cls.getId(), cls.getName(), cls.getGrade(), cls.getRoomNumber(),
+                    cls.getSyllabus(), scheduleData));
         }
 
         return ResponseEntity.ok(ResponseObject.builder()
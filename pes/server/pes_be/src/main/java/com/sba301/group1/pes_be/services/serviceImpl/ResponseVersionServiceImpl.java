@@ -0,0 +1,74 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.enums.VersionedAggregate;
+import com.sba301.group1.pes_be.services.ResponseVersionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bo dem version cho tung loai du lieu (class, schedule, syllabus), tang moi khi co ghi.
+ * ETag cua GET = epoch khoi dong + version cac loai du lieu ma response phu thuoc,
+ * nen If-None-Match duoc tra 304 ma khong can doc DB.
+ */
+@Service
+public class ResponseVersionServiceImpl implements ResponseVersionService {
+
+    // moi lan khoi dong co epoch rieng, ETag cua lan chay truoc khong bao gio khop
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLongArray versions = new AtomicLongArray(VersionedAggregate.values().length);
+
+    @Override
+    public void bump(VersionedAggregate... aggregates) {
+        // tang sau khi commit: neu tang truoc, request doc xen giua co the gan ETag moi cho du lieu cu
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(aggregates);
+                }
+            });
+            return;
+        }
+        increment(aggregates);
+    }
+
+    @Override
+    public String etag(VersionedAggregate... aggregates) {
+        StringBuilder etag = new StringBuilder("\"").append(epoch);
+        for (VersionedAggregate aggregate : aggregates) {
+            etag.append('-').append(aggregate.getTag()).append(versions.get(aggregate.ordinal()));
+        }
+        return etag.append('"').toString();
+    }
+
+    // ETag duoc tinh truoc khi doc DB: ghi commit sau do se doi version, client khong giu ban cu
+    @Override
+    public <T> ResponseEntity<T> conditional(WebRequest webRequest, Supplier<ResponseEntity<T>> loader, VersionedAggregate... aggregates) {
+        if (webRequest.checkNotModified(etag(aggregates))) {
+            return null;// da set 304 + ETag
+        }
+
+        ResponseEntity<T> response = loader.get();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(response.getBody());
+    }
+
+    private void increment(VersionedAggregate... aggregates) {
+        for (VersionedAggregate aggregate : aggregates) {
+            versions.incrementAndGet(aggregate.ordinal());
+        }
+    }
+}
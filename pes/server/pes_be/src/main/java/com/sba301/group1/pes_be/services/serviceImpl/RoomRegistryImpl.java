@@ -0,0 +1,124 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.repositories.ClassesRepo;
+import com.sba301.group1.pes_be.services.RoomRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tinh trang phong (1..education-room-count) giu trong bo nho: bitset theo nam bat dau cua class
+ * va danh sach khoang [startDate, endDate] cho truy van theo khoang thoi gian.
+ * Duoc lam moi khi khoi dong va sau khi commit tao/sua/xoa class.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomRegistryImpl implements RoomRegistry {
+
+    private final ClassesRepo classesRepo;
+
+    @Value("${education-room-count:20}")
+    private int roomCount;
+
+    private volatile Snapshot snapshot = new Snapshot(new BitSet(), Map.of(), List.of());
+
+    @Override
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    @Override
+    public BitSet findOccupiedRooms(Integer startYear) {
+        Snapshot current = snapshot;
+        BitSet rooms = startYear == null ? current.all() : current.byYear().get(startYear);
+        return rooms == null ? new BitSet() : (BitSet) rooms.clone();
+    }
+
+    @Override
+    public BitSet findOccupiedRooms(LocalDate from, LocalDate to) {
+        BitSet rooms = new BitSet();
+        // occupancies sap xep theo startDate, dung khi class bat dau sau 'to'
+        for (Occupancy occupancy : snapshot.occupancies()) {
+            if (occupancy.start().isAfter(to)) {
+                break;
+            }
+            if (!occupancy.end().isBefore(from)) {
+                rooms.set(occupancy.room());
+            }
+        }
+        return rooms;
+    }
+
+    @Override
+    public void refresh() {
+        // doc lai sau khi commit: neu doc trong transaction dang chay, request khac co the thay class chua commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+            return;
+        }
+        reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        BitSet all = new BitSet();
+        Map<Integer, BitSet> byYear = new HashMap<>();
+        List<Occupancy> occupancies = new ArrayList<>();
+
+        for (ClassesRepo.RoomSlot slot : classesRepo.findRoomSlots()) {
+            Integer room = parseRoom(slot.getRoomNumber());
+            if (room == null) {
+                continue;
+            }
+            all.set(room);
+
+            LocalDate start = slot.getStartDate();
+            if (start == null) {
+                continue;
+            }
+            byYear.computeIfAbsent(start.getYear(), y -> new BitSet()).set(room);
+
+            LocalDate end = slot.getEndDate();
+            occupancies.add(new Occupancy(room, start, end != null ? end : LocalDate.MAX));
+        }
+
+        occupancies.sort(Comparator.comparing(Occupancy::start));
+        snapshot = new Snapshot(all, Map.copyOf(byYear), List.copyOf(occupancies));
+    }
+
+    // Phong ngoai khoang 1..roomCount hoac khong phai so thi khong hien thi nen bo qua
+    private Integer parseRoom(String roomNumber) {
+        if (roomNumber == null) {
+            return null;
+        }
+        try {
+            int room = Integer.parseInt(roomNumber.trim());
+            return room >= 1 && room <= roomCount ? room : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Occupancy(int room, LocalDate start, LocalDate end) {
+    }
+
+    private record Snapshot(BitSet all, Map<Integer, BitSet> byYear, List<Occupancy> occupancies) {
+    }
+}
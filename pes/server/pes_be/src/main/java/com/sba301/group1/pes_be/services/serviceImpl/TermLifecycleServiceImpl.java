@@ -0,0 +1,77 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.dto.response.TermFormStatistics;
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.AdmissionTerm;
+import com.sba301.group1.pes_be.repositories.AdmissionFormRepo;
+import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
+import com.sba301.group1.pes_be.services.ActiveTermRegistry;
+import com.sba301.group1.pes_be.services.TermLifecycleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Chuyen trang thai term INACTIVE -> ACTIVE -> LOCKED theo thoi gian va chi tieu.
+ * Chay dinh ky o background, nen cac API GET chi doc status da luu trong DB.
+ */
+@Service
+@RequiredArgsConstructor
+public class TermLifecycleServiceImpl implements TermLifecycleService {
+
+    private final AdmissionTermRepo admissionTermRepo;
+    private final AdmissionFormRepo admissionFormRepo;
+    private final ActiveTermRegistry activeTermRegistry;
+
+    @Override
+    public Status computeStatus(AdmissionTerm term) {
+        long approved = term.getId() == null ? 0 : admissionFormRepo.countByAdmissionTerm_IdAndStatus(term.getId(), Status.APPROVED);
+        return computeStatus(term, approved);
+    }
+
+    private Status computeStatus(AdmissionTerm term, long approved) {
+        if (term.getStatus() != null && term.getStatus().equals(Status.LOCKED_TERM)) {
+            return Status.LOCKED_TERM;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(term.getStartDate())) {
+            return Status.INACTIVE_TERM;
+        }
+        if (now.isAfter(term.getEndDate())) {
+            return Status.LOCKED_TERM;
+        }
+
+        //term đang ACTIVE nhưng đã đủ số lượng → chuyển sang LOCKED_TERM dù chưa hết hạn
+        return approved >= term.getMaxNumberRegistration() ? Status.LOCKED_TERM : Status.ACTIVE_TERM;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${admission-term-refresh-interval:60000}")
+    public void refreshTermStatuses() {
+        Map<Integer, Long> approvedByTerm = admissionFormRepo.countFormStatisticsGroupByTerm().stream()
+                .collect(Collectors.toMap(TermFormStatistics::getTermId, TermFormStatistics::getApproved));
+
+        List<AdmissionTerm> changed = new ArrayList<>();
+        for (AdmissionTerm term : admissionTermRepo.findAllByStatusNot(Status.LOCKED_TERM)) {
+            Status status = computeStatus(term, approvedByTerm.getOrDefault(term.getId(), 0L));
+            if (!status.equals(term.getStatus())) {
+                term.setStatus(status);
+                changed.add(term);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            admissionTermRepo.saveAll(changed);
+        }
+        activeTermRegistry.refresh();
+    }
+}
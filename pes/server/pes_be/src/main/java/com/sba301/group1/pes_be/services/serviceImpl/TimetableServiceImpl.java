@@ -0,0 +1,499 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.dto.requests.GenerateTimetableRequest;
+import com.sba301.group1.pes_be.dto.response.ResponseObject;
+import com.sba301.group1.pes_be.enums.VersionedAggregate;
+import com.sba301.group1.pes_be.models.Activity;
+import com.sba301.group1.pes_be.models.Classes;
+import com.sba301.group1.pes_be.models.Lesson;
+import com.sba301.group1.pes_be.models.Schedule;
+import com.sba301.group1.pes_be.models.SyllabusLesson;
+import com.sba301.group1.pes_be.repositories.ActivityRepo;
+import com.sba301.group1.pes_be.repositories.ClassesRepo;
+import com.sba301.group1.pes_be.repositories.ScheduleRepo;
+import com.sba301.group1.pes_be.repositories.SyllabusLessonRepo;
+import com.sba301.group1.pes_be.services.ResponseVersionService;
+import com.sba301.group1.pes_be.services.TimetableService;
+import com.sba301.group1.pes_be.validations.ScheduleValidation.GenerateTimetableValidation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sinh thoi khoa bieu ca nam tu syllabus cua lop.
+ * Lesson duoc rai deu tren cac ngay hoc tu startDate den endDate (toi da 52 tuan); moi lesson chiem
+ * duration phut va duoc dat vao gio trong som nhat khong trung voi lop, giao vien va phong.
+ * Cac lop dung chung giao vien/phong trong cung khoang ngay duoc gom 1 nhom va xep tuan tu, cac nhom doc lap
+ * chay song song tren {@code timetableExecutor}; ket qua duoc luu 1 lan trong transaction cua request.
+ * Lich cu cua lop khong duoc xep lai (bo qua, hoac xep lai that bai) van giu va duoc tinh la ban.
+ */
+@Service
+public class TimetableServiceImpl implements TimetableService {
+
+    private static final int MAX_WEEKS = 52;
+
+    private static final int DEFAULT_LESSON_DURATION = 45;
+
+    private static final List<DayOfWeek> DEFAULT_DAYS = List.of(
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY
+    );
+
+    private static final String GENERATED_NOTE = "Auto-generated";
+
+    private final ClassesRepo classesRepo;
+    private final SyllabusLessonRepo syllabusLessonRepo;
+    private final ScheduleRepo scheduleRepo;
+    private final ActivityRepo activityRepo;
+    private final ResponseVersionService responseVersionService;
+    private final ThreadPoolTaskExecutor timetableExecutor;
+
+    public TimetableServiceImpl(ClassesRepo classesRepo,
+                                SyllabusLessonRepo syllabusLessonRepo,
+                                ScheduleRepo scheduleRepo,
+                                ActivityRepo activityRepo,
+                                ResponseVersionService responseVersionService,
+                                @Qualifier("timetableExecutor") ThreadPoolTaskExecutor timetableExecutor) {
+        this.classesRepo = classesRepo;
+        this.syllabusLessonRepo = syllabusLessonRepo;
+        this.scheduleRepo = scheduleRepo;
+        this.activityRepo = activityRepo;
+        this.responseVersionService = responseVersionService;
+        this.timetableExecutor = timetableExecutor;
+    }
+
+    @Override
+    @Transactional
+    public ResponseEntity<ResponseObject> generateTimetable(GenerateTimetableRequest request) {
+        String error = GenerateTimetableValidation.validate(request);
+        if (!error.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    ResponseObject.builder()
+                            .message(error)
+                            .success(false)
+                            .data(null)
+                            .build()
+            );
+        }
+
+        List<Classes> classes = request.getClassIds() != null && !request.getClassIds().isEmpty()
+                ? classesRepo.findAllForTimetableByIdIn(request.getClassIds())
+                : classesRepo.findAllForTimetableByYear(LocalDate.of(request.getYear(), 1, 1), LocalDate.of(request.getYear() + 1, 1, 1));
+        if (classes.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                    ResponseObject.builder()
+                            .message("No class found")
+                            .success(false)
+                            .data(null)
+                            .build()
+            );
+        }
+
+        // Lop da co lich chi duoc xep lai khi replaceExisting
+        Set<Integer> scheduledClassIds = scheduleRepo.findClassIdsWithSchedules(classes.stream().map(Classes::getId).toList());
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<Classes> targets = new ArrayList<>();
+        for (Classes c : classes) {
+            if (!request.isReplaceExisting() && scheduledClassIds.contains(c.getId())) {
+                results.add(result(c, 0, 0, false, "Class already has schedules, set replaceExisting to regenerate"));
+            } else if (c.getSyllabus() == null) {
+                results.add(result(c, 0, 0, false, "Class has no syllabus"));
+            } else if (c.getStartDate() == null || c.getEndDate() == null) {
+                results.add(result(c, 0, 0, false, "Class has no start or end date"));
+            } else {
+                targets.add(c);
+            }
+        }
+
+        Map<Integer, Lesson> lessonsById = new HashMap<>();
+        Map<Integer, List<LessonInput>> lessonsBySyllabus = new HashMap<>();
+        if (!targets.isEmpty()) {
+            for (SyllabusLesson sl : syllabusLessonRepo.findAllWithLessonBySyllabusIdIn(
+                    targets.stream().map(c -> c.getSyllabus().getId()).distinct().toList())) {
+                Lesson lesson = sl.getLesson();
+                lessonsById.put(lesson.getId(), lesson);
+                int duration = lesson.getDuration() != null && lesson.getDuration() > 0 ? lesson.getDuration() : DEFAULT_LESSON_DURATION;
+                lessonsBySyllabus.computeIfAbsent(sl.getSyllabus().getId(), id -> new ArrayList<>())
+                        .add(new LessonInput(lesson.getId(), lesson.getTopic(), duration));
+            }
+        }
+
+        List<ClassInput> inputs = targets.stream()
+                .map(c -> new ClassInput(
+                        c.getId(),
+                        c.getTeacher() != null ? c.getTeacher().getId() : null,
+                        c.getRoomNumber() != null && !c.getRoomNumber().isBlank() ? c.getRoomNumber() : null,
+                        c.getStartDate(),
+                        c.getEndDate(),
+                        lessonsBySyllabus.getOrDefault(c.getSyllabus().getId(), List.of())))
+                .toList();
+        Settings settings = settings(request);
+
+        // Chi lich cu cua lop xep lai thanh cong moi bi xoa. Lop co lich cu xep lai that bai thi lich cu duoc giu,
+        // nen xep lai cac lop con lai voi lich cu do la ban (moi vong bot it nhat 1 lop, toi da targets.size() vong)
+        Map<Integer, ClassPlan> plans = new HashMap<>();
+        List<ClassInput> planning = inputs;
+        while (!planning.isEmpty()) {
+            Map<Integer, ClassPlan> round = plan(planning, settings);
+            List<ClassInput> kept = planning.stream()
+                    .filter(input -> round.get(input.classId()).error() != null && scheduledClassIds.contains(input.classId()))
+                    .toList();
+            if (kept.isEmpty()) {
+                plans.putAll(round);
+                break;
+            }
+            kept.forEach(input -> plans.put(input.classId(), round.get(input.classId())));
+            planning = planning.stream().filter(input -> !kept.contains(input)).toList();
+        }
+
+        List<Integer> replacedIds = plans.values().stream()
+                .filter(plan -> plan.error() == null && scheduledClassIds.contains(plan.classId()))
+                .map(ClassPlan::classId)
+                .toList();
+        if (!replacedIds.isEmpty()) {
+            activityRepo.deleteByClassesIdIn(replacedIds);
+            scheduleRepo.deleteByClassesIdIn(replacedIds);
+        }
+
+        int generated = 0;
+        List<Schedule> schedules = new ArrayList<>();
+        for (Classes c : targets) {
+            ClassPlan plan = plans.get(c.getId());
+            if (plan.error() != null) {
+                results.add(result(c, 0, 0, false, plan.error()));
+                continue;
+            }
+
+            Map<Integer, Schedule> weeks = new TreeMap<>();
+            for (PlannedActivity planned : plan.activities()) {
+                Schedule schedule = weeks.computeIfAbsent(planned.weekNumber(), week -> Schedule.builder()
+                        .weekNumber(week)
+                        .note(GENERATED_NOTE)
+                        .classes(c)
+                        .activities(new ArrayList<>())
+                        .build());
+                Lesson lesson = lessonsById.get(planned.lessonId());
+                schedule.getActivities().add(Activity.builder()
+                        .topic(lesson.getTopic())
+                        .description(lesson.getDescription())
+                        .dayOfWeek(planned.day().name())
+                        .startTime(formatTime(planned.start()))
+                        .endTime(formatTime(planned.end()))
+                        .schedule(schedule)
+                        .lesson(lesson)
+                        .build());
+            }
+            schedules.addAll(weeks.values());
+            generated++;
+            results.add(result(c, weeks.size(), plan.activities().size(), true, "Timetable generated"));
+        }
+
+        // Activity duoc luu theo cascade cua Schedule, INSERT gom theo hibernate.jdbc.batch_size
+        scheduleRepo.saveAll(schedules);
+        responseVersionService.bump(VersionedAggregate.SCHEDULE);
+
+        return ResponseEntity.ok().body(
+                ResponseObject.builder()
+                        .message("Generated timetable for " + generated + "/" + classes.size() + " classes")
+                        .success(generated > 0)
+                        .data(results)
+                        .build()
+        );
+    }
+
+    // Lich cua cac lop ngoai 'inputs' la ban; nhom doc lap khong tranh cung ngay/giao vien/phong nen xep song song khong can khoa
+    private Map<Integer, ClassPlan> plan(List<ClassInput> inputs, Settings settings) {
+        Map<String, List<int[]>> busy = loadBusySlots(inputs);
+        List<CompletableFuture<List<ClassPlan>>> futures = group(inputs).stream()
+                .map(group -> CompletableFuture.supplyAsync(() -> planGroup(group, busy, settings), timetableExecutor))
+                .toList();
+        Map<Integer, ClassPlan> plans = new HashMap<>();
+        for (CompletableFuture<List<ClassPlan>> future : futures) {
+            for (ClassPlan plan : future.join()) {
+                plans.put(plan.classId(), plan);
+            }
+        }
+        return plans;
+    }
+
+    // Phan xep lich (planGroup/planClass/firstFree/group) khong dung DB, de package-private cho unit test
+    static List<ClassPlan> planGroup(List<ClassInput> group, Map<String, List<int[]>> seed, Settings settings) {
+        Map<String, List<int[]>> occupancy = new HashMap<>();
+        List<ClassPlan> plans = new ArrayList<>();
+        for (ClassInput input : group) {
+            plans.add(planClass(input, occupancy, seed, settings));
+        }
+        return plans;
+    }
+
+    static ClassPlan planClass(ClassInput input, Map<String, List<int[]>> occupancy, Map<String, List<int[]>> seed, Settings settings) {
+        if (input.lessons().isEmpty()) {
+            return new ClassPlan(input.classId(), List.of(), "Syllabus has no lessons");
+        }
+
+        List<TeachingDay> days = teachingDays(input, settings.days());
+        if (days.isEmpty()) {
+            return new ClassPlan(input.classId(), List.of(), "No teaching day between start and end date");
+        }
+
+        List<PlannedActivity> planned = new ArrayList<>();
+        int total = input.lessons().size();
+        int dayIndex = 0;
+        int cursor = settings.dayStart();
+        for (int i = 0; i < total; i++) {
+            LessonInput lesson = input.lessons().get(i);
+
+            // Rai deu: lesson thu i khong xep som hon ngay thu i * days / lessons
+            int paced = (int) ((long) i * days.size() / total);
+            if (paced > dayIndex) {
+                dayIndex = paced;
+                cursor = settings.dayStart();
+            }
+
+            int start = -1;
+            while (dayIndex < days.size()) {
+                start = firstFree(keys(input, days.get(dayIndex).date()), occupancy, seed, cursor, lesson.duration(), settings.dayEnd());
+                if (start >= 0) {
+                    break;
+                }
+                dayIndex++;
+                cursor = settings.dayStart();
+            }
+            if (start < 0) {
+                return new ClassPlan(input.classId(), List.of(),
+                        "Not enough teaching time for lesson '" + lesson.topic() + "' (" + lesson.duration() + " min)");
+            }
+
+            TeachingDay day = days.get(dayIndex);
+            int end = start + lesson.duration();
+            for (String key : keys(input, day.date())) {
+                busy(occupancy, seed, key).add(new int[]{start, end});
+            }
+            planned.add(new PlannedActivity(day.weekNumber(), day.day(), lesson.id(), start, end));
+            cursor = end + settings.breakMinutes();
+        }
+        return new ClassPlan(input.classId(), planned, null);
+    }
+
+    // Gio bat dau som nhat >= from ma [start, start + duration) khong trung khoang ban nao cua cac key
+    static int firstFree(List<String> keys, Map<String, List<int[]>> occupancy, Map<String, List<int[]>> seed,
+                                 int from, int duration, int dayEnd) {
+        List<int[]> intervals = new ArrayList<>();
+        for (String key : keys) {
+            intervals.addAll(busy(occupancy, seed, key));
+        }
+        intervals.sort(Comparator.comparingInt(interval -> interval[0]));
+
+        int start = from;
+        for (int[] interval : intervals) {
+            if (interval[1] <= start) {
+                continue;
+            }
+            if (interval[0] >= start + duration) {
+                break;
+            }
+            start = interval[1];
+        }
+        return start + duration <= dayEnd ? start : -1;
+    }
+
+    // Moi nhom co ban sao rieng, chep tu seed (chi doc) khi dung toi key lan dau
+    private static List<int[]> busy(Map<String, List<int[]>> occupancy, Map<String, List<int[]>> seed, String key) {
+        return occupancy.computeIfAbsent(key, k -> new ArrayList<>(seed.getOrDefault(k, List.of())));
+    }
+
+    private static List<String> keys(ClassInput input, LocalDate date) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add("C:" + input.classId() + ":" + date);
+        if (input.teacherId() != null) {
+            keys.add("T:" + input.teacherId() + ":" + date);
+        }
+        if (input.roomNumber() != null) {
+            keys.add("R:" + input.roomNumber() + ":" + date);
+        }
+        return keys;
+    }
+
+    // Tuan n bat dau tu startDate + (n - 1) tuan, giong cach tinh ngay cua lich phu huynh
+    private static List<TeachingDay> teachingDays(ClassInput input, List<DayOfWeek> days) {
+        List<TeachingDay> teachingDays = new ArrayList<>();
+        for (int week = 1; week <= MAX_WEEKS; week++) {
+            LocalDate weekStart = input.startDate().plusWeeks(week - 1);
+            if (weekStart.isAfter(input.endDate())) {
+                break;
+            }
+            List<TeachingDay> weekDays = new ArrayList<>();
+            for (DayOfWeek day : days) {
+                LocalDate date = weekStart.with(TemporalAdjusters.nextOrSame(day));
+                if (!date.isAfter(input.endDate())) {
+                    weekDays.add(new TeachingDay(week, day, date));
+                }
+            }
+            weekDays.sort(Comparator.comparing(TeachingDay::date));
+            teachingDays.addAll(weekDays);
+        }
+        return teachingDays;
+    }
+
+    // Lop dung chung giao vien hoac phong va co khoang [startDate, endDate] giao nhau thuoc cung 1 nhom (union-find).
+    // Lop dung chung giao vien/phong o nam hoc khac khong bao gio tranh cung 1 ngay nen thuoc nhom rieng
+    static List<List<ClassInput>> group(List<ClassInput> inputs) {
+        int[] parent = new int[inputs.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+
+        Map<String, List<Integer>> byResource = new HashMap<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            ClassInput input = inputs.get(i);
+            if (input.teacherId() != null) {
+                byResource.computeIfAbsent("T:" + input.teacherId(), k -> new ArrayList<>()).add(i);
+            }
+            if (input.roomNumber() != null) {
+                byResource.computeIfAbsent("R:" + input.roomNumber(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // quet theo startDate: lop bat dau truoc khi cac lop truoc do ket thuc thi noi vao cung nhom
+        for (List<Integer> members : byResource.values()) {
+            members.sort(Comparator.comparing(i -> inputs.get(i).startDate()));
+            Integer owner = null;
+            LocalDate reach = null;
+            for (int i : members) {
+                ClassInput input = inputs.get(i);
+                if (owner != null && !input.startDate().isAfter(reach)) {
+                    parent[find(parent, i)] = find(parent, owner);
+                    reach = input.endDate().isAfter(reach) ? input.endDate() : reach;
+                } else {
+                    owner = i;
+                    reach = input.endDate();
+                }
+            }
+        }
+
+        Map<Integer, List<ClassInput>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            groups.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(inputs.get(i));
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    // Lich cua cac lop khong nam trong 'inputs' nhung dung chung giao vien/phong, tinh theo ngay thuc te
+    private Map<String, List<int[]>> loadBusySlots(List<ClassInput> inputs) {
+        Set<Integer> teacherIds = new HashSet<>();
+        Set<String> roomNumbers = new HashSet<>();
+        Set<Integer> excludedClassIds = new HashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (ClassInput input : inputs) {
+            if (input.teacherId() != null) {
+                teacherIds.add(input.teacherId());
+            }
+            if (input.roomNumber() != null) {
+                roomNumbers.add(input.roomNumber());
+            }
+            excludedClassIds.add(input.classId());
+            from = from == null || input.startDate().isBefore(from) ? input.startDate() : from;
+            to = to == null || input.endDate().isAfter(to) ? input.endDate() : to;
+        }
+        if (teacherIds.isEmpty() && roomNumbers.isEmpty()) {
+            return Map.of();
+        }
+
+        // IN () rong khong hop le tren SQL Server, dung gia tri khong bao gio khop
+        Map<String, List<int[]>> busy = new HashMap<>();
+        for (ActivityRepo.ActivitySlot slot : activityRepo.findBusySlots(
+                teacherIds.isEmpty() ? List.of(-1) : teacherIds,
+                roomNumbers.isEmpty() ? List.of("") : roomNumbers,
+                excludedClassIds, from, to)) {
+            if (slot.getClassStartDate() == null || slot.getWeekNumber() == null) {
+                continue;
+            }
+            try {
+                DayOfWeek day = DayOfWeek.valueOf(slot.getDayOfWeek().trim().toUpperCase());
+                int start = LocalTime.parse(slot.getStartTime().trim()).toSecondOfDay() / 60;
+                int end = LocalTime.parse(slot.getEndTime().trim()).toSecondOfDay() / 60;
+                LocalDate date = slot.getClassStartDate().plusWeeks(slot.getWeekNumber() - 1).with(TemporalAdjusters.nextOrSame(day));
+                if (slot.getTeacherId() != null && teacherIds.contains(slot.getTeacherId())) {
+                    busy.computeIfAbsent("T:" + slot.getTeacherId() + ":" + date, k -> new ArrayList<>()).add(new int[]{start, end});
+                }
+                if (slot.getRoomNumber() != null && roomNumbers.contains(slot.getRoomNumber())) {
+                    busy.computeIfAbsent("R:" + slot.getRoomNumber() + ":" + date, k -> new ArrayList<>()).add(new int[]{start, end});
+                }
+            } catch (IllegalArgumentException | NullPointerException | DateTimeParseException e) {
+                // du lieu cu khong dung dinh dang thi bo qua
+            }
+        }
+        return busy;
+    }
+
+    private static Settings settings(GenerateTimetableRequest request) {
+        List<DayOfWeek> days = request.getDays() != null
+                ? request.getDays().stream().map(day -> DayOfWeek.valueOf(day.trim().toUpperCase())).distinct().sorted().toList()
+                : DEFAULT_DAYS;
+        LocalTime dayStart = request.getDayStartTime() != null ? LocalTime.parse(request.getDayStartTime()) : GenerateTimetableValidation.DEFAULT_DAY_START;
+        LocalTime dayEnd = request.getDayEndTime() != null ? LocalTime.parse(request.getDayEndTime()) : GenerateTimetableValidation.DEFAULT_DAY_END;
+        int breakMinutes = request.getBreakMinutes() != null ? request.getBreakMinutes() : 0;
+        return new Settings(days, dayStart.toSecondOfDay() / 60, dayEnd.toSecondOfDay() / 60, breakMinutes);
+    }
+
+    private static String formatTime(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private static Map<String, Object> result(Classes c, int weeks, int activities, boolean success, String message) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("classId", c.getId());
+        result.put("className", c.getName());
+        result.put("weeks", weeks);
+        result.put("activities", activities);
+        result.put("success", success);
+        result.put("message", message);
+        return result;
+    }
+
+    record Settings(List<DayOfWeek> days, int dayStart, int dayEnd, int breakMinutes) {
+    }
+
+    record LessonInput(int id, String topic, int duration) {
+    }
+
+    record ClassInput(int classId, Integer teacherId, String roomNumber, LocalDate startDate, LocalDate endDate,
+                              List<LessonInput> lessons) {
+    }
+
+    private record TeachingDay(int weekNumber, DayOfWeek day, LocalDate date) {
+    }
+
+    record PlannedActivity(int weekNumber, DayOfWeek day, int lessonId, int start, int end) {
+    }
+
+    record ClassPlan(int classId, List<PlannedActivity> activities, String error) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.sba301.group1.pes_be.validations.ActivityValidation;
+
+import com.sba301.group1.pes_be.models.Classes;
+import com.sba301.group1.pes_be.models.Schedule;
+import com.sba301.group1.pes_be.repositories.ActivityRepo;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Kiem tra trung gio cho ca mot tuan activity trong 1 query, chi doc cac activity cung thu va giao voi
+ * khung gio cua cac activity moi, trong dung tuan do.
+ * Activity duoc doi sang khoang [start, end) theo phut, gom vao index theo 3 pham vi:
+ * cung schedule (theo thu), cung giao vien va cung phong (theo ngay thuc te = ngay bat dau lop + tuan + thu).
+ */
+public class ActivityConflictValidation {
+
+    public record Candidate(Integer activityId, String topic, String dayOfWeek, String startTime, String endTime) {
+    }
+
+    public static String validate(Schedule schedule, List<Candidate> candidates, ActivityRepo activityRepo) {
+        if (candidates == null || candidates.isEmpty()) {
+            return "";
+        }
+
+        Classes classes = schedule.getClasses();
+        LocalDate weekStart = classes != null ? weekStart(classes.getStartDate(), schedule.getWeekNumber()) : null;
+        Integer teacherId = weekStart != null && classes.getTeacher() != null ? classes.getTeacher().getId() : null;
+        String roomNumber = weekStart != null ? classes.getRoomNumber() : null;
+        LocalDate from = weekStart != null ? weekStart : LocalDate.now();
+
+        // Activity dang duoc sua se duoc thay bang ban moi, khong tinh la trung voi chinh no
+        Set<Integer> replacedIds = new HashSet<>();
+        for (Candidate candidate : candidates) {
+            if (candidate.activityId() != null) {
+                replacedIds.add(candidate.activityId());
+            }
+        }
+
+        // khung gio va cac thu cua activity moi; activity sai dinh dang bi bao loi o vong duoi
+        Set<String> days = new HashSet<>();
+        int minStart = Integer.MAX_VALUE;
+        int maxEnd = Integer.MIN_VALUE;
+        for (Candidate candidate : candidates) {
+            Slot slot = toSlot(null, null, null, candidate.dayOfWeek(), candidate.startTime(), candidate.endTime());
+            if (slot != null && slot.start() < slot.end()) {
+                days.add(slot.day().name());
+                minStart = Math.min(minStart, slot.start());
+                maxEnd = Math.max(maxEnd, slot.end());
+            }
+        }
+
+        Map<String, List<Slot>> index = new HashMap<>();
+        List<ActivityRepo.ActivitySlot> existingSlots = days.isEmpty() ? List.of()
+                : activityRepo.findConflictCandidates(schedule.getId(), teacherId, roomNumber, days,
+                        formatMinutes(minStart), formatMinutes(maxEnd), from.minusDays(6), from.plusDays(6));
+        for (ActivityRepo.ActivitySlot existing : existingSlots) {
+            if (replacedIds.contains(existing.getId())) {
+                continue;
+            }
+            Slot slot = toSlot(existing.getId(), existing.getTopic(), existing.getClassName(),
+                    existing.getDayOfWeek(), existing.getStartTime(), existing.getEndTime());
+            if (slot == null) {
+                continue;// du lieu cu khong dung dinh dang thi bo qua
+            }
+            LocalDate date = dateOf(weekStart(existing.getClassStartDate(), existing.getWeekNumber()), slot.day());
+            for (String key : keys(existing.getScheduleId(), existing.getTeacherId(), existing.getRoomNumber(), slot.day(), date)) {
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(slot);
+            }
+        }
+
+        String className = classes != null ? classes.getName() : null;
+        for (Candidate candidate : candidates) {
+            Slot slot = toSlot(candidate.activityId(), candidate.topic(), className,
+                    candidate.dayOfWeek(), candidate.startTime(), candidate.endTime());
+            if (slot == null) {
+                return "Invalid time slot for activity '" + candidate.topic() + "': day must be MONDAY..SUNDAY and time HH:MM";
+            }
+            if (slot.end() <= slot.start()) {
+                return "End time must be after start time for activity '" + candidate.topic() + "'";
+            }
+
+            LocalDate date = dateOf(weekStart, slot.day());
+            List<String> keys = keys(schedule.getId(), teacherId, roomNumber, slot.day(), date);
+            for (String key : keys) {
+                Slot conflict = findOverlap(index.get(key), slot);
+                if (conflict != null) {
+                    return describe(key, slot, candidate, conflict, roomNumber);
+                }
+            }
+            for (String key : keys) {
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(slot);
+            }
+        }
+
+        return "";
+    }
+
+    // Schedule chua luu (id null) van co pham vi rieng de so cac activity moi voi nhau
+    private static List<String> keys(Integer scheduleId, Integer teacherId, String roomNumber, DayOfWeek day, LocalDate date) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add("S:" + scheduleId + ":" + day);
+        if (date != null && teacherId != null) {
+            keys.add("T:" + teacherId + ":" + date);
+        }
+        if (date != null && roomNumber != null && !roomNumber.isBlank()) {
+            keys.add("R:" + roomNumber + ":" + date);
+        }
+        return keys;
+    }
+
+    private static Slot findOverlap(List<Slot> slots, Slot slot) {
+        if (slots == null) {
+            return null;
+        }
+        for (Slot other : slots) {
+            if (other.start() < slot.end() && slot.start() < other.end()) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    private static String describe(String key, Slot slot, Candidate candidate, Slot conflict, String roomNumber) {
+        String when = slot.day() + " " + candidate.startTime() + "-" + candidate.endTime();
+        String other = conflict.id() != null ? "activity #" + conflict.id() + " '" + conflict.topic() + "'" : "activity '" + conflict.topic() + "'";
+        return switch (key.charAt(0)) {
+            case 'S' -> "Activity '" + candidate.topic() + "' (" + when + ") overlaps " + other + " in the same schedule";
+            case 'T' -> "Teacher is already teaching " + other + " in class '" + conflict.className() + "' at " + when;
+            default -> "Room " + roomNumber + " is already used by " + other + " in class '" + conflict.className() + "' at " + when;
+        };
+    }
+
+    private static LocalDate weekStart(LocalDate classStartDate, Integer weekNumber) {
+        if (classStartDate == null || weekNumber == null || weekNumber < 1) {
+            return null;
+        }
+        return classStartDate.plusWeeks(weekNumber - 1);
+    }
+
+    private static LocalDate dateOf(LocalDate weekStart, DayOfWeek day) {
+        return weekStart != null ? weekStart.with(TemporalAdjusters.nextOrSame(day)) : null;
+    }
+
+    private static Slot toSlot(Integer id, String topic, String className, String dayOfWeek, String startTime, String endTime) {
+        if (dayOfWeek == null || startTime == null || endTime == null) {
+            return null;
+        }
+        try {
+            DayOfWeek day = DayOfWeek.valueOf(dayOfWeek.trim().toUpperCase());
+            LocalTime start = LocalTime.parse(startTime.trim());
+            LocalTime end = LocalTime.parse(endTime.trim());
+            return new Slot(id, topic, className, day, start.toSecondOfDay() / 60, end.toSecondOfDay() / 60);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String formatMinutes(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    private record Slot(Integer id, String topic, String className, DayOfWeek day, int start, int end) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.sba301.group1.pes_be.validations.AdmissionValidation;
+
+import com.sba301.group1.pes_be.dto.requests.AdmissionFormFilterRequest;
+import com.sba301.group1.pes_be.enums.Grade;
+import com.sba301.group1.pes_be.enums.Status;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public class AdmissionFormFilterValidation {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // chi loc theo cac status cua admission form
+    private static final Set<Status> FORM_STATUSES = EnumSet.of(
+            Status.DRAFT, Status.PENDING_APPROVAL, Status.APPROVED, Status.REJECTED, Status.CANCELLED
+    );
+
+    public static String validate(AdmissionFormFilterRequest request) {
+        if (request.getStatus() != null && !request.getStatus().isBlank() && parseStatus(request.getStatus()) == null) {
+            return "Unknown form status: " + request.getStatus();
+        }
+
+        if (request.getGrade() != null && !request.getGrade().isBlank() && parseGrade(request.getGrade()) == null) {
+            return "Unknown grade: " + request.getGrade();
+        }
+
+        if (request.getFromDate() != null && request.getToDate() != null && request.getFromDate().isAfter(request.getToDate())) {
+            return "From date must be before to date";
+        }
+
+        // cursor phai di theo cap
+        if ((request.getCursorDate() == null) != (request.getCursorId() == null)) {
+            return "Cursor date and cursor id must be provided together";
+        }
+
+        if (request.getSize() != null && (request.getSize() <= 0 || request.getSize() > MAX_PAGE_SIZE)) {
+            return "Page size must be between 1 and " + MAX_PAGE_SIZE;
+        }
+        return "";
+    }
+
+    public static Status parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            Status parsed = Status.valueOf(status.trim().toUpperCase().replace(" ", "_"));
+            return FORM_STATUSES.contains(parsed) ? parsed : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static Grade parseGrade(String grade) {
+        if (grade == null || grade.isBlank()) {
+            return null;
+        }
+        try {
+            return Grade.valueOf(grade.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
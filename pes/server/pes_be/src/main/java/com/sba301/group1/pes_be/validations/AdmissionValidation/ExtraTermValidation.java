@@ -3,10 +3,11 @@ package com.sba301.group1.pes_be.validations.AdmissionValidation;
 import com.sba301.group1.pes_be.dto.requests.CreateExtraTermRequest;
 import com.sba301.group1.pes_be.enums.Status;
 import com.sba301.group1.pes_be.models.AdmissionTerm;
+import com.sba301.group1.pes_be.repositories.AdmissionFormRepo;
 import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
 
 public class ExtraTermValidation {
-    public static String createExtraTerm(CreateExtraTermRequest request, AdmissionTermRepo admissionTermRepo) {
+    public static String createExtraTerm(CreateExtraTermRequest request, AdmissionTermRepo admissionTermRepo, AdmissionFormRepo admissionFormRepo) {
         if (request.getAdmissionTermId() == null) {
             return "Admission term ID is required.";
         }
@@ -34,14 +35,10 @@ public class ExtraTermValidation {
             return ("Only locked terms can have extra requests");
         }
 
-        if (countApprovedFormByTerm(term) >= term.getMaxNumberRegistration()) {
+        if (admissionFormRepo.countByAdmissionTerm_IdAndStatus(term.getId(), Status.APPROVED) >= term.getMaxNumberRegistration()) {
             return ("Term has already reached maximum registration");
         }
 
         return "";
     }
-
-    public static int countApprovedFormByTerm(AdmissionTerm term) {
-        return (int) term.getAdmissionFormList().stream().filter(form -> form.getStatus().equals(Status.APPROVED)).count();
-    }
 }
@@ -1,13 +1,24 @@
 package com.sba301.group1.pes_be.validations.AdmissionValidation;
 
+import com.sba301.group1.pes_be.dto.requests.BulkProcessAdmissionFormRequest;
 import com.sba301.group1.pes_be.dto.requests.ProcessAdmissionFormRequest;
+import com.sba301.group1.pes_be.enums.Status;
 import com.sba301.group1.pes_be.models.AdmissionForm;
 import com.sba301.group1.pes_be.repositories.AdmissionFormRepo;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class ProcessAdmissionFormValidation {
+
+    public static final int MAX_BULK_SIZE = 500;
+
     public static String processFormByManagerValidate(ProcessAdmissionFormRequest request, AdmissionFormRepo admissionFormRepo) {
         AdmissionForm form = admissionFormRepo.findById(request.getId()).orElse(null);
+        return decisionValidate(request, form);
+    }
 
+    public static String decisionValidate(ProcessAdmissionFormRequest request, AdmissionForm form) {
         if (form == null) {
             return "Form not found";
         }
@@ -16,10 +27,15 @@ public class ProcessAdmissionFormValidation {
             return ("Form has no associated student.");
         }
 
+        //chỉ xử lý đơn đang chờ duyệt; đơn đã duyệt/từ chối/hủy không được quyết định lại
+        if (!Status.PENDING_APPROVAL.equals(form.getStatus())) {
+            return "Only forms pending approval can be processed (current status: " + (form.getStatus() != null ? form.getStatus().getValue() : "none") + ")";
+        }
+
         //Khi approved == false → nghĩa là đơn bị từ chối
         //bắt buộc phải nhap reason
         if (!request.isApproved()) {
-            if (request.getReason().trim().isEmpty()) {
+            if (request.getReason() == null || request.getReason().trim().isEmpty()) {
                 return "Reject reason is required when form is rejected";
             }
 
@@ -29,4 +45,26 @@ public class ProcessAdmissionFormValidation {
         }
         return "";
     }
+
+    public static String bulkValidate(BulkProcessAdmissionFormRequest request) {
+        if (request.getForms() == null || request.getForms().isEmpty()) {
+            return "At least one form decision is required";
+        }
+
+        if (request.getForms().size() > MAX_BULK_SIZE) {
+            return "Cannot process more than " + MAX_BULK_SIZE + " forms at once";
+        }
+
+        //mỗi form chỉ được có 1 quyết định trong cùng request
+        Set<Integer> ids = new HashSet<>();
+        for (ProcessAdmissionFormRequest decision : request.getForms()) {
+            if (decision == null) {
+                return "Form decision must not be null";
+            }
+            if (!ids.add(decision.getId())) {
+                return "Duplicate form id: " + decision.getId();
+            }
+        }
+        return "";
+    }
 }
@@ -54,11 +54,12 @@ public class CreateClassValidation {
             return "Selected account is not a teacher";
         }
         
-        if (classesRepo.existsByTeacherAndYear(request.getTeacherId(), String.valueOf(LocalDate.parse(request.getStartDate()).getYear()))) {
+        LocalDate yearStart = LocalDate.parse(request.getStartDate()).withDayOfYear(1);
+        if (classesRepo.existsByTeacherAndYear(request.getTeacherId(), yearStart, yearStart.plusYears(1))) {
             return "Teacher is already assigned to another class in the same year";
         }
 
-        if (classesRepo.existsByRoomNumberAndYear(request.getRoomNumber(), String.valueOf(LocalDate.parse(request.getStartDate()).getYear()))) {
+        if (classesRepo.existsByRoomNumberAndYear(request.getRoomNumber(), yearStart, yearStart.plusYears(1))) {
             return "Room is already assigned to another class in the same year";
         }
         
@@ -0,0 +1,17 @@
+package com.sba301.group1.pes_be.validations.ClassValidation;
+
+import java.time.LocalDate;
+
+public class RoomAvailabilityValidation {
+
+    public static String validate(LocalDate from, LocalDate to) {
+        if ((from == null) != (to == null)) {
+            return "From date and to date must be provided together";
+        }
+
+        if (from != null && from.isAfter(to)) {
+            return "From date must be before to date";
+        }
+        return "";
+    }
+}
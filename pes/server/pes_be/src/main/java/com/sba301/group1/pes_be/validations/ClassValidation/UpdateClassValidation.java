@@ -56,11 +56,12 @@ public class UpdateClassValidation {
             return "Selected account is not a teacher";
         }
         
-        if (classesRepo.existsByTeacherAndYearAndIdNot(request.getTeacherId(), String.valueOf(LocalDate.parse(request.getStartDate()).getYear()), existingClass.getId())) {
+        LocalDate yearStart = LocalDate.parse(request.getStartDate()).withDayOfYear(1);
+        if (classesRepo.existsByTeacherAndYearAndIdNot(request.getTeacherId(), yearStart, yearStart.plusYears(1), existingClass.getId())) {
             return "Teacher is already assigned to another class in the same year";
         }
 
-        if (classesRepo.existsByRoomNumberAndYearAndIdNot(request.getRoomNumber(), String.valueOf(LocalDate.parse(request.getStartDate()).getYear()), existingClass.getId())) {
+        if (classesRepo.existsByRoomNumberAndYearAndIdNot(request.getRoomNumber(), yearStart, yearStart.plusYears(1), existingClass.getId())) {
             return "Room is already assigned to another class in the same year";
         }
         
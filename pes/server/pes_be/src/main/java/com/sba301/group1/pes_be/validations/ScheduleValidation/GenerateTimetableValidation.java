@@ -0,0 +1,54 @@
+package com.sba301.group1.pes_be.validations.ScheduleValidation;
+
+import com.sba301.group1.pes_be.dto.requests.GenerateTimetableRequest;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+public class GenerateTimetableValidation {
+
+    public static final LocalTime DEFAULT_DAY_START = LocalTime.of(8, 0);
+
+    public static final LocalTime DEFAULT_DAY_END = LocalTime.of(16, 0);
+
+    public static String validate(GenerateTimetableRequest request) {
+        if (request.getYear() == null && (request.getClassIds() == null || request.getClassIds().isEmpty())) {
+            return "Year or class list is required";
+        }
+
+        if (request.getDays() != null) {
+            if (request.getDays().isEmpty()) {
+                return "At least one teaching day is required";
+            }
+            for (String day : request.getDays()) {
+                try {
+                    DayOfWeek.valueOf(day.trim().toUpperCase());
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    return "Invalid day of week: " + day;
+                }
+            }
+        }
+
+        LocalTime start;
+        LocalTime end;
+        try {
+            start = request.getDayStartTime() != null ? LocalTime.parse(request.getDayStartTime()) : null;
+            end = request.getDayEndTime() != null ? LocalTime.parse(request.getDayEndTime()) : null;
+        } catch (DateTimeParseException e) {
+            return "Time must be in HH:MM format";
+        }
+        // Gio nao khong truyen thi dung mac dinh, nen chi truyen 1 gio van phai so voi gio mac dinh con lai
+        LocalTime effectiveStart = start != null ? start : DEFAULT_DAY_START;
+        LocalTime effectiveEnd = end != null ? end : DEFAULT_DAY_END;
+        if (!effectiveEnd.isAfter(effectiveStart)) {
+            return "Day end time (" + effectiveEnd + ") must be after day start time (" + effectiveStart + ")";
+        }
+
+        if (request.getBreakMinutes() != null && request.getBreakMinutes() < 0) {
+            return "Break minutes cannot be negative";
+        }
+
+        return "";
+    }
+}
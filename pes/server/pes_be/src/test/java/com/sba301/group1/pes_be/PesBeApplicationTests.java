@@ -2,8 +2,10 @@ package com.sba301.group1.pes_be;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class PesBeApplicationTests {
 
     @Test
@@ -0,0 +1,27 @@
+package com.sba301.group1.pes_be.confgs;
+
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailConfigTests {
+
+    @Test
+    void mailTemplateEngineRendersBaseTemplate() {
+        TemplateEngine engine = new MailConfig().mailTemplateEngine();
+
+        Context context = new Context();
+        context.setVariable("title", "Admission result");
+        context.setVariable("heading", "Congratulations & welcome");
+        context.setVariable("body", "<p>Your form was <b>approved</b>.</p>");
+        String html = engine.process("email/base", context);
+
+        assertTrue(html.contains("<title>Admission result</title>"));
+        // th:text escape HTML, th:utext chen nguyen fragment
+        assertTrue(html.contains("Congratulations &amp; welcome"));
+        assertTrue(html.contains("<p>Your form was <b>approved</b>.</p>"));
+        assertTrue(html.contains("cid:logo"));
+    }
+}
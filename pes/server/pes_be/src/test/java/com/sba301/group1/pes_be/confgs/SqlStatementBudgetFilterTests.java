@@ -0,0 +1,114 @@
+package com.sba301.group1.pes_be.confgs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SqlStatementBudgetFilterTests {
+
+    private SqlStatementBudget sqlStatementBudget;
+
+    private SqlStatementBudgetFilter filter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementBudget = new SqlStatementBudget();
+        filter = new SqlStatementBudgetFilter(sqlStatementBudget);
+        ReflectionTestUtils.setField(filter, "budget", 3);
+        mockMvc = MockMvcBuilders.standaloneSetup(new QueryController(sqlStatementBudget))
+                .addFilters(filter)
+                .build();
+    }
+
+    @Test
+    void requestWithinBudgetIsRecordedByPattern() throws Exception {
+        mockMvc.perform(get("/queries/2")).andExpect(status().isOk());
+        mockMvc.perform(get("/queries/3")).andExpect(status().isOk());
+
+        SqlStatementBudget.EndpointStats stats = sqlStatementBudget.getEndpointStats().get("GET /queries/{count}");
+        assertEquals(2, stats.requests());
+        assertEquals(5, stats.statements());
+        assertEquals(3, stats.maxStatements());
+        // chi dem trong request, sau filter thread khong con counter
+        sqlStatementBudget.inspect("select 1");
+        assertEquals(5, sqlStatementBudget.getEndpointStats().get("GET /queries/{count}").statements());
+    }
+
+    @Test
+    void requestOverBudgetIsRejectedBeforeTheResponseIsSent() throws Exception {
+        mockMvc.perform(get("/queries/4"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string("GET /queries/{count} (/queries/4) executed 4 SQL statements, budget is 3"));
+
+        // van ghi so lieu va dem vi pham theo endpoint
+        SqlStatementBudget.EndpointStats stats = sqlStatementBudget.getEndpointStats().get("GET /queries/{count}");
+        assertEquals(4, stats.maxStatements());
+        assertEquals(1, stats.overBudget());
+
+        mockMvc.perform(get("/queries/3")).andExpect(status().isOk()).andExpect(content().string("3"));
+        assertEquals(1, sqlStatementBudget.getEndpointStats().get("GET /queries/{count}").overBudget());
+    }
+
+    @Test
+    void zeroBudgetDisablesTheCheck() throws Exception {
+        ReflectionTestUtils.setField(filter, "budget", 0);
+
+        mockMvc.perform(get("/queries/10")).andExpect(status().isOk());
+    }
+
+    @Test
+    void headersAreOnlySentWhenEnabled() throws Exception {
+        mockMvc.perform(get("/queries/2"))
+                .andExpect(header().doesNotExist("X-Sql-Statements"));
+
+        ReflectionTestUtils.setField(filter, "headersEnabled", true);
+        mockMvc.perform(get("/queries/2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sql-Statements", "2"))
+                .andExpect(header().string("X-Sql-Entities", "0"))
+                .andExpect(header().exists("X-Sql-Time"))
+                .andExpect(content().string("2"));
+    }
+
+    @Test
+    void unmappedRequestsAreGroupedTogether() throws Exception {
+        mockMvc.perform(get("/missing/1"));
+        mockMvc.perform(get("/missing/2"));
+
+        assertTrue(sqlStatementBudget.getEndpointStats().containsKey("UNMAPPED"));
+        assertEquals(2, sqlStatementBudget.getEndpointStats().get("UNMAPPED").requests());
+    }
+
+    // Gia lap handler chay {count} cau SQL qua StatementInspector
+    @RestController
+    static class QueryController {
+
+        private final SqlStatementBudget sqlStatementBudget;
+
+        QueryController(SqlStatementBudget sqlStatementBudget) {
+            this.sqlStatementBudget = sqlStatementBudget;
+        }
+
+        @GetMapping("/queries/{count}")
+        int run(@PathVariable int count) {
+            for (int i = 0; i < count; i++) {
+                sqlStatementBudget.inspect("select " + i);
+            }
+            return count;
+        }
+    }
+}
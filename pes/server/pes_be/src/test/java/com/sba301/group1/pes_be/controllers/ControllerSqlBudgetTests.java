@@ -0,0 +1,760 @@
+package com.sba301.group1.pes_be.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sba301.group1.pes_be.confgs.AccountCache;
+import com.sba301.group1.pes_be.confgs.RevocationRegistry;
+import com.sba301.group1.pes_be.enums.Grade;
+import com.sba301.group1.pes_be.enums.Role;
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.Account;
+import com.sba301.group1.pes_be.models.Activity;
+import com.sba301.group1.pes_be.models.AdmissionForm;
+import com.sba301.group1.pes_be.models.AdmissionTerm;
+import com.sba301.group1.pes_be.models.Classes;
+import com.sba301.group1.pes_be.models.Lesson;
+import com.sba301.group1.pes_be.models.Parent;
+import com.sba301.group1.pes_be.models.Schedule;
+import com.sba301.group1.pes_be.models.Student;
+import com.sba301.group1.pes_be.models.StudentClass;
+import com.sba301.group1.pes_be.models.Syllabus;
+import com.sba301.group1.pes_be.models.SyllabusLesson;
+import com.sba301.group1.pes_be.repositories.AccountRepo;
+import com.sba301.group1.pes_be.repositories.ActivityRepo;
+import com.sba301.group1.pes_be.repositories.AdmissionFormRepo;
+import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
+import com.sba301.group1.pes_be.repositories.ClassesRepo;
+import com.sba301.group1.pes_be.repositories.LessonRepo;
+import com.sba301.group1.pes_be.repositories.ParentRepo;
+import com.sba301.group1.pes_be.repositories.ScheduleRepo;
+import com.sba301.group1.pes_be.repositories.StudentClassRepo;
+import com.sba301.group1.pes_be.repositories.StudentRepo;
+import com.sba301.group1.pes_be.repositories.SyllabusLessonRepo;
+import com.sba301.group1.pes_be.repositories.SyllabusRepo;
+import com.sba301.group1.pes_be.services.ActiveTermRegistry;
+import com.sba301.group1.pes_be.services.JWTService;
+import com.sba301.group1.pes_be.services.RoomRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpMethod.PUT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * Goi tung route cua Education/Parent/Admission/HR controller tren H2 (profile test) voi du lieu mau
+ * it nhat {@link #ROWS} dong moi danh sach (lop, giao vien, phu huynh, hoc sinh, form, term, lesson, syllabus,
+ * schedule, activity), kiem tra status 2xx va so cau SQL (header X-Sql-Statements) dung bang budget co dinh cua route;
+ * query theo tung dong (N+1) se lam so cau SQL vuot budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ControllerSqlBudgetTests {
+
+    private static final int YEAR = LocalDate.now().getYear();
+
+    // so dong them vao moi danh sach, du de N+1 vuot xa budget co dinh
+    private static final int ROWS = 20;
+
+    private static final String EDUCATION = "/api/v1/education";
+
+    private static final String PARENT = "/api/v1/parent";
+
+    private static final String ADMISSION = "/api/v1/admission";
+
+    private static final String HR = "/api/v1/hr";
+
+    private static final List<Class<?>> CONTROLLERS = List.of(
+            EducationController.class, ParentController.class, AdmissionController.class, HRController.class
+    );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private RevocationRegistry revocationRegistry;
+
+    @Autowired
+    private ActiveTermRegistry activeTermRegistry;
+
+    @Autowired
+    private RoomRegistry roomRegistry;
+
+    @Autowired
+    private AccountRepo accountRepo;
+
+    @Autowired
+    private ParentRepo parentRepo;
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    @Autowired
+    private AdmissionTermRepo admissionTermRepo;
+
+    @Autowired
+    private AdmissionFormRepo admissionFormRepo;
+
+    @Autowired
+    private LessonRepo lessonRepo;
+
+    @Autowired
+    private SyllabusRepo syllabusRepo;
+
+    @Autowired
+    private SyllabusLessonRepo syllabusLessonRepo;
+
+    @Autowired
+    private ClassesRepo classesRepo;
+
+    @Autowired
+    private StudentClassRepo studentClassRepo;
+
+    @Autowired
+    private ScheduleRepo scheduleRepo;
+
+    @Autowired
+    private ActivityRepo activityRepo;
+
+    private Fixture fixture;
+
+    static List<Route> routes() {
+        return List.of(
+                // Activity
+                route(Role.EDUCATION, POST, EDUCATION + "/activities", 6,
+                        f -> vars(), f -> Map.of("topic", "Painting", "description", "Colors",
+                                "dayOfWeek", "FRIDAY", "startTime", "14:00", "endTime", "15:00",
+                                "scheduleId", f.schedule1, "lessonId", f.lesson1)),
+                route(Role.EDUCATION, PUT, EDUCATION + "/activities/{activityId}", 6,
+                        f -> vars(f.activity1), f -> Map.of("topic", "Counting", "description", "Numbers",
+                                "dayOfWeek", "MONDAY", "startTime", "08:00", "endTime", "08:45", "lessonId", f.lesson1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/activities/{activityId}", 1, f -> vars(f.activity1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/activities/schedule/{scheduleId}", 1, f -> vars(f.schedule1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/activities/class/{classId}", 1, f -> vars(f.class1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/activities/class/{classId}/day/{dayOfWeek}", 1,
+                        f -> vars(f.class1, "MONDAY")),
+                route(Role.EDUCATION, GET, EDUCATION + "/activities/{activityId}/deletion-impact", 4, f -> vars(f.activity1)),
+                route(Role.EDUCATION, DELETE, EDUCATION + "/activities/{activityId}", 5, f -> vars(f.activity1)),
+                route(Role.EDUCATION, POST, EDUCATION + "/activities/assign", 6,
+                        f -> vars(), f -> Map.of("activityId", f.activity1, "classId", f.class2, "weekNumber", 2)),
+                route(Role.EDUCATION, POST, EDUCATION + "/activities/create-from-lessons", 5,
+                        f -> vars(), f -> Map.of("scheduleId", f.schedule2, "lessonIds", List.of(f.lesson3),
+                                "dayOfWeek", "THURSDAY", "startTime", "08:00", "endTime", "09:00")),
+                route(Role.EDUCATION, GET, EDUCATION + "/activities/lesson/{lessonId}", 2, f -> vars(f.lesson1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/activities", 1, f -> vars()),
+
+                // Schedule
+                route(Role.EDUCATION, POST, EDUCATION + "/schedules", 4,
+                        f -> vars(), f -> Map.of("weekNumber", 3, "note", "Week 3", "classId", f.class1)),
+                route(Role.EDUCATION, POST, EDUCATION + "/schedules/with-activities", 9,
+                        f -> vars(), f -> Map.of("weekNumber", 3, "note", "Week 3", "classId", f.class1, "activities", List.of(
+                                // scheduleId chi de qua CreateActivityValidation, activity gan vao schedule moi
+                                Map.of("topic", "Singing", "dayOfWeek", "MONDAY", "startTime", "08:00", "endTime", "09:00",
+                                        "scheduleId", f.schedule1, "lessonId", f.lesson1),
+                                Map.of("topic", "Dancing", "dayOfWeek", "TUESDAY", "startTime", "08:00", "endTime", "09:00",
+                                        "scheduleId", f.schedule1, "lessonId", f.lesson2)))),
+                route(Role.EDUCATION, PUT, EDUCATION + "/schedules/{scheduleId}", 4,
+                        f -> vars(f.schedule1), f -> Map.of("weekNumber", 1, "note", "Updated")),
+                route(Role.EDUCATION, GET, EDUCATION + "/schedules/{scheduleId}", 1, f -> vars(f.schedule1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/schedules/class/{classId}", 1, f -> vars(f.class1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/schedules/class/{classId}/week/{weekNumber}", 1, f -> vars(f.class1, 1)),
+                route(Role.EDUCATION, DELETE, EDUCATION + "/schedules/{scheduleId}", 4, f -> vars(f.schedule2)),
+                route(Role.EDUCATION, GET, EDUCATION + "/schedules", 1, f -> vars()),
+
+                // Classes
+                route(Role.EDUCATION, GET, EDUCATION + "/classes/{classId}", 1, f -> vars(f.class1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/classes/{classId}/syllabus", 3, f -> vars(f.class1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/classes/{classId}/lessons", 2, f -> vars(f.class1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/classes/status/{status}", 1, f -> vars("active")),
+                route(Role.EDUCATION, GET, EDUCATION + "/classes/teacher/{teacherId}", 1, f -> vars(f.teacher1.getId())),
+                route(Role.EDUCATION, GET, EDUCATION + "/classes/grade/{grade}", 1, f -> vars("bud")),
+                route(Role.EDUCATION, GET, EDUCATION + "/classes", 1, f -> vars()),
+                route(Role.EDUCATION, POST, EDUCATION + "/classes", 9,
+                        f -> vars(), f -> classBody(null, f.teacher4.getId(), f.syllabus2, "Bud 4", "4")),
+                route(Role.EDUCATION, PUT, EDUCATION + "/classes/{classId}", 10,
+                        f -> vars(f.class1), f -> classBody(f.class1, f.teacher1.getId(), f.syllabus1, "Bud 1 renamed", "1")),
+                route(Role.EDUCATION, DELETE, EDUCATION + "/classes/{classId}", 6, f -> vars(f.class3)),
+                route(Role.EDUCATION, POST, EDUCATION + "/classes/assign-students", 7,
+                        f -> vars(), f -> Map.of("classId", f.class3, "studentIds", List.of(f.student4))),
+                route(Role.EDUCATION, POST, EDUCATION + "/classes/unassign-students", 10,
+                        f -> vars(), f -> Map.of("classId", f.class1, "studentIds", List.of(f.student1, f.student2))),
+
+                // Lesson
+                route(Role.EDUCATION, GET, EDUCATION + "/lessons/{lessonId}", 1, f -> vars(f.lesson1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/lessons/search?topic={topic}", 1, f -> vars("Lesson")),
+                route(Role.EDUCATION, POST, EDUCATION + "/lessons", 1,
+                        f -> vars(), f -> Map.of("topic", "Lesson new", "description", "New", "duration", 45, "materials", "Paper")),
+                route(Role.EDUCATION, PUT, EDUCATION + "/lessons/{lessonId}", 4,
+                        f -> vars(f.lesson1), f -> Map.of("lessonId", f.lesson1, "topic", "Lesson 1 updated",
+                                "description", "Updated", "duration", 40, "materials", "Paper")),
+                route(Role.EDUCATION, DELETE, EDUCATION + "/lessons/{lessonId}", 3, f -> vars(f.lesson5)),
+                route(Role.EDUCATION, GET, EDUCATION + "/lessons/syllabus/{syllabusId}", 1, f -> vars(f.syllabus1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/lessons/class/{classId}", 2, f -> vars(f.class1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/lessons", 1, f -> vars()),
+                route(Role.EDUCATION, GET, EDUCATION + "/lessons/{lessonId}/syllabi", 6, f -> vars(f.lesson3)),
+
+                // Syllabus
+                route(Role.EDUCATION, GET, EDUCATION + "/syllabus/{syllabusId}", 2, f -> vars(f.syllabus1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/syllabus/{syllabusId}/lessons", 1, f -> vars(f.syllabus1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/syllabus/search?title={title}", 1, f -> vars("Syllabus")),
+                route(Role.EDUCATION, GET, EDUCATION + "/syllabus/class/{classId}", 3, f -> vars(f.class1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/syllabus", 2, f -> vars()),
+                route(Role.EDUCATION, POST, EDUCATION + "/syllabus", 5,
+                        f -> vars(), f -> Map.of("title", "Syllabus new", "description", "New", "lessons", List.of(
+                                Map.of("lessonId", f.lesson1, "description", "Intro"),
+                                Map.of("lessonId", f.lesson2, "description", "Next")))),
+                route(Role.EDUCATION, PUT, EDUCATION + "/syllabus/{syllabusId}", 8,
+                        f -> vars(f.syllabus1), f -> Map.of("syllabusId", f.syllabus1, "title", "Syllabus 1 updated",
+                                "description", "Updated", "lessons", List.of(
+                                        Map.of("lessonId", f.lesson1, "description", "Intro"),
+                                        Map.of("lessonId", f.lesson4, "description", "Added")))),
+                route(Role.EDUCATION, DELETE, EDUCATION + "/syllabus/{syllabusId}", 3, f -> vars(f.syllabus3)),
+
+                // Teacher / student / room / timetable
+                route(Role.EDUCATION, GET, EDUCATION + "/teachers?startYear={year}", 1, f -> vars(YEAR)),
+                route(Role.EDUCATION, GET, EDUCATION + "/teachers/{teacherId}", 2, f -> vars(f.teacher1.getId())),
+                route(Role.EDUCATION, GET, EDUCATION + "/students", 1, f -> vars()),
+                route(Role.EDUCATION, GET, EDUCATION + "/classes/{classId}/students", 3, f -> vars(f.class1)),
+                route(Role.EDUCATION, GET, EDUCATION + "/student-class-assignments", 1, f -> vars()),
+                route(Role.EDUCATION, GET, EDUCATION + "/rooms/availability?startYear={year}", 0, f -> vars(YEAR)),
+                route(Role.EDUCATION, POST, EDUCATION + "/timetable/generate", 7,
+                        f -> vars(), f -> Map.of("classIds", List.of(f.class3), "replaceExisting", false)),
+
+                // Parent
+                route(Role.PARENT, GET, PARENT + "/form/list", 2, f -> vars()),
+                route(Role.PARENT, POST, PARENT + "/form/submit", 6,
+                        f -> vars(), f -> formBody("studentId", f.student4, "admissionTermId", f.activeTerm)),
+                route(Role.PARENT, POST, PARENT + "/form/refill", 8,
+                        f -> vars(), f -> formBody("studentId", f.student3, "formId", f.form3)),
+                route(Role.PARENT, PUT, PARENT + "/form/cancel", 5, f -> vars(), f -> Map.of("id", f.form2)),
+                route(Role.PARENT, POST, PARENT + "/child", 3, f -> vars(), f -> childBody(null)),
+                route(Role.PARENT, PUT, PARENT + "/child", 5, f -> vars(), f -> childBody(f.student4)),
+                route(Role.PARENT, GET, PARENT + "/child", 2, f -> vars()),
+                route(Role.PARENT, GET, PARENT + "/profile", 2, f -> vars()),
+                route(Role.PARENT, PUT, PARENT + "/profile", 4,
+                        f -> vars(), f -> Map.of("id", f.parent, "address", "12 Nguyen Hue", "job", "Engineer",
+                                "relationshipToChild", "Father", "dayOfBirth", "1990-05-20",
+                                "name", "Parent updated", "phone", "0901234567", "gender", "male")),
+                route(Role.PARENT, GET, PARENT + "/student-class-weeks/{studentId}?fromWeek=1&toWeek=2", 4,
+                        f -> vars(f.student1)),
+
+                // Admission
+                route(Role.ADMISSION, POST, ADMISSION + "/term", 4,
+                        f -> vars(), f -> Map.of("startDate", LocalDateTime.now().plusDays(1).toString(),
+                                "endDate", LocalDateTime.now().plusDays(30).toString(),
+                                "maxNumberRegistration", 20, "grade", "leaf")),
+                route(Role.ADMISSION, GET, ADMISSION + "/term", 2, f -> vars()),
+                route(Role.ADMISSION, POST, ADMISSION + "/extra/term", 6,
+                        f -> vars(), f -> Map.of("admissionTermId", f.lockedTerm,
+                                "startDate", LocalDateTime.now().plusDays(1).toString(),
+                                "endDate", LocalDateTime.now().plusDays(10).toString(),
+                                "maxNumberRegistration", 5)),
+                route(Role.ADMISSION, PUT, ADMISSION + "/term", 3, f -> vars(), f -> Map.of("termId", f.activeTerm)),
+                route(Role.ADMISSION, GET, ADMISSION + "/form/list", 1, f -> vars()),
+                route(Role.ADMISSION, GET, ADMISSION + "/form/page?size={size}", 1, f -> vars(10)),
+                route(Role.ADMISSION, PUT, ADMISSION + "/form/process", 6,
+                        f -> vars(), f -> Map.of("id", f.form1, "approved", true)),
+                route(Role.ADMISSION, PUT, ADMISSION + "/form/process/bulk", 4,
+                        f -> vars(), f -> Map.of("forms", List.of(
+                                Map.of("id", f.form1, "approved", true),
+                                Map.of("id", f.form2, "approved", false, "reason", "Class is full")))),
+
+                // HR
+                route(Role.HR, GET, HR + "/parent/{id}", 2, f -> vars(f.parent)),
+                // service chi nhan tai khoan PARENT nhung route yeu cau role hr: tra 200 "Unauthorized" tu AccountCache, 0 cau SQL
+                route(Role.HR, PUT, HR + "/parent/update", 0,
+                        f -> vars(), f -> Map.of("id", f.parent, "accountId", f.parentAccount.getId(),
+                                "address", "34 Le Loi", "job", "Doctor", "relationshipToChild", "Mother",
+                                "dayOfBirth", "1991-03-02", "passwordChanged", false)),
+                route(Role.HR, PUT, HR + "/parent/remove?id={id}", 4, f -> vars(f.activeParent)),
+                route(Role.HR, PUT, HR + "/parent/unban?id={id}", 3, f -> vars(f.bannedParent)),
+                route(Role.HR, GET, HR + "/parent-list", 1, f -> vars()),
+                route(Role.HR, GET, HR + "/teachers", 2, f -> vars()),
+                route(Role.HR, POST, HR + "/teachers/add", 2,
+                        f -> vars(), f -> Map.of("email", "teacher.new@pes.local", "password", "Teacher@123",
+                                "name", "New Teacher", "phone", "0907654321", "gender", "female",
+                                "identityNumber", "079123456789")),
+                route(Role.HR, PUT, HR + "/teachers/update/{id}", 2,
+                        f -> vars(f.teacher1.getId()), f -> Map.of("name", "Teacher One", "phone", "0901111111",
+                                "gender", "female", "identityNumber", "079000000001"))
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        truncateAllTables();
+        fixture = seed();
+
+        // cac registry trong bo nho giu id cu sau khi xoa bang
+        activeTermRegistry.refresh();
+        roomRegistry.refresh();
+        accountCache.invalidateAll();
+        for (Account account : fixture.accounts.values()) {
+            revocationRegistry.restore(account.getEmail());
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("routes")
+    void routeStaysWithinSqlStatementBudget(Route route) throws Exception {
+        Account account = fixture.accounts.get(route.role());
+        MockHttpServletRequestBuilder builder = request(route.method(), route.uriTemplate(), route.uriVariables().apply(fixture))
+                .cookie(new Cookie("access", jwtService.generateAccessToken(account)),
+                        new Cookie("refresh", jwtService.generateRefreshToken(account)));
+        Object body = route.body().apply(fixture);
+        if (body != null) {
+            builder.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        }
+
+        MvcResult result = mockMvc.perform(builder).andReturn();
+
+        int status = result.getResponse().getStatus();
+        String content = result.getResponse().getContentAsString();
+        assertTrue(status >= 200 && status < 300, route + " returned " + status + ": " + content);
+
+        String statements = result.getResponse().getHeader("X-Sql-Statements");
+        assertNotNull(statements, route + " has no X-Sql-Statements header");
+        assertEquals(route.budget(), Integer.parseInt(statements),
+                route + " executed " + statements + " SQL statements, budget is " + route.budget());
+    }
+
+    @Test
+    void everyControllerRouteIsCovered() {
+        Set<String> mapped = new TreeSet<>();
+        handlerMapping.getHandlerMethods().forEach((info, method) -> {
+            if (CONTROLLERS.contains(method.getBeanType())) {
+                for (RequestMethod requestMethod : info.getMethodsCondition().getMethods()) {
+                    for (String pattern : info.getPathPatternsCondition().getPatternValues()) {
+                        mapped.add(requestMethod.name() + " " + pattern);
+                    }
+                }
+            }
+        });
+        Set<String> tested = routes().stream().map(Route::toString).collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(mapped, tested);
+    }
+
+    private void truncateAllTables() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        for (String table : jdbcTemplate.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'", String.class)) {
+            jdbcTemplate.execute("TRUNCATE TABLE \"" + table + "\"");
+        }
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    private Fixture seed() {
+        Fixture f = new Fixture();
+        for (Role role : Role.values()) {
+            f.accounts.put(role, account(role.name().toLowerCase() + "@pes.local", role, Status.ACCOUNT_ACTIVE));
+        }
+        f.teacher1 = f.accounts.get(Role.TEACHER);
+        f.teacher2 = account("teacher2@pes.local", Role.TEACHER, Status.ACCOUNT_ACTIVE);
+        f.teacher3 = account("teacher3@pes.local", Role.TEACHER, Status.ACCOUNT_ACTIVE);
+        f.teacher4 = account("teacher4@pes.local", Role.TEACHER, Status.ACCOUNT_ACTIVE);
+        f.parentAccount = f.accounts.get(Role.PARENT);
+
+        Parent parent = parentRepo.save(Parent.builder()
+                .address("1 Tran Hung Dao")
+                .job("Teacher")
+                .relationshipToChild("Father")
+                .dayOfBirth(LocalDate.of(1990, 1, 1))
+                .account(f.parentAccount)
+                .build());
+        f.parent = parent.getId();
+        // phu huynh khong co con dang hoc (ban duoc) va phu huynh da bi ban
+        f.activeParent = parentRepo.save(Parent.builder().address("2 Le Loi")
+                .account(account("parent2@pes.local", Role.PARENT, Status.ACCOUNT_ACTIVE)).build()).getId();
+        f.bannedParent = parentRepo.save(Parent.builder().address("3 Le Loi")
+                .account(account("parent3@pes.local", Role.PARENT, Status.ACCOUNT_BAN)).build()).getId();
+
+        // tuoi 4 (BUD) trong nam tuyen sinh
+        List<Student> students = studentRepo.saveAll(List.of(
+                student("Child 1", parent, true),
+                student("Child 2", parent, true),
+                student("Child 3", parent, false),
+                student("Child 4", parent, false)
+        ));
+        f.student1 = students.get(0).getId();
+        f.student2 = students.get(1).getId();
+        f.student3 = students.get(2).getId();
+        f.student4 = students.get(3).getId();
+
+        AdmissionTerm activeTerm = admissionTermRepo.save(AdmissionTerm.builder()
+                .name("Bud " + YEAR)
+                .startDate(LocalDateTime.now().minusDays(1))
+                .endDate(LocalDateTime.now().plusDays(30))
+                .year(YEAR)
+                .maxNumberRegistration(10)
+                .reservedCount(2)// 2 form PENDING_APPROVAL ben duoi
+                .grade(Grade.BUD)
+                .status(Status.ACTIVE_TERM)
+                .build());
+        AdmissionTerm lockedTerm = admissionTermRepo.save(AdmissionTerm.builder()
+                .name("Seed " + YEAR)
+                .startDate(LocalDateTime.now().minusDays(30))
+                .endDate(LocalDateTime.now().minusDays(1))
+                .year(YEAR)
+                .maxNumberRegistration(10)
+                .reservedCount(0)
+                .grade(Grade.SEED)
+                .status(Status.LOCKED_TERM)
+                .build());
+        f.activeTerm = activeTerm.getId();
+        f.lockedTerm = lockedTerm.getId();
+
+        List<AdmissionForm> forms = admissionFormRepo.saveAll(List.of(
+                form(parent, students.get(0), activeTerm, Status.PENDING_APPROVAL),
+                form(parent, students.get(1), activeTerm, Status.PENDING_APPROVAL),
+                form(parent, students.get(2), activeTerm, Status.REJECTED)
+        ));
+        f.form1 = forms.get(0).getId();
+        f.form2 = forms.get(1).getId();
+        f.form3 = forms.get(2).getId();
+
+        List<Lesson> lessons = lessonRepo.saveAll(List.of(
+                lesson("Lesson 1"), lesson("Lesson 2"), lesson("Lesson 3"), lesson("Lesson 4"), lesson("Lesson 5")
+        ));
+        f.lesson1 = lessons.get(0).getId();
+        f.lesson2 = lessons.get(1).getId();
+        f.lesson3 = lessons.get(2).getId();
+        f.lesson4 = lessons.get(3).getId();
+        f.lesson5 = lessons.get(4).getId();
+
+        List<Syllabus> syllabi = syllabusRepo.saveAll(List.of(
+                Syllabus.builder().title("Syllabus 1").description("Bud").build(),
+                Syllabus.builder().title("Syllabus 2").description("Bud").build(),
+                Syllabus.builder().title("Syllabus 3").description("Unused").build()
+        ));
+        f.syllabus1 = syllabi.get(0).getId();
+        f.syllabus2 = syllabi.get(1).getId();
+        f.syllabus3 = syllabi.get(2).getId();
+        syllabusLessonRepo.saveAll(List.of(
+                SyllabusLesson.builder().syllabus(syllabi.get(0)).lesson(lessons.get(0)).note("1").build(),
+                SyllabusLesson.builder().syllabus(syllabi.get(0)).lesson(lessons.get(1)).note("2").build(),
+                SyllabusLesson.builder().syllabus(syllabi.get(0)).lesson(lessons.get(2)).note("3").build(),
+                SyllabusLesson.builder().syllabus(syllabi.get(1)).lesson(lessons.get(2)).note("1").build(),
+                SyllabusLesson.builder().syllabus(syllabi.get(1)).lesson(lessons.get(3)).note("2").build()
+        ));
+
+        LocalDate start = LocalDate.now().with(DayOfWeek.MONDAY);
+        List<Classes> classes = classesRepo.saveAll(List.of(
+                classes("Bud 1", f.teacher1, syllabi.get(0), "1", start, Status.ACTIVE),
+                classes("Bud 2", f.teacher2, syllabi.get(0), "2", start, Status.ACTIVE),
+                classes("Bud 3", f.teacher3, syllabi.get(1), "3", start, Status.DRAFT)
+        ));
+        f.class1 = classes.get(0).getId();
+        f.class2 = classes.get(1).getId();
+        f.class3 = classes.get(2).getId();
+        studentClassRepo.saveAll(List.of(
+                StudentClass.builder().student(students.get(0)).classes(classes.get(0)).build(),
+                StudentClass.builder().student(students.get(1)).classes(classes.get(0)).build(),
+                StudentClass.builder().student(students.get(2)).classes(classes.get(1)).build()
+        ));
+
+        List<Schedule> schedules = scheduleRepo.saveAll(List.of(
+                Schedule.builder().weekNumber(1).note("Week 1").classes(classes.get(0)).build(),
+                Schedule.builder().weekNumber(2).note("Week 2").classes(classes.get(0)).build(),
+                Schedule.builder().weekNumber(1).note("Week 1").classes(classes.get(1)).build()
+        ));
+        f.schedule1 = schedules.get(0).getId();
+        f.schedule2 = schedules.get(1).getId();
+        f.schedule3 = schedules.get(2).getId();
+
+        List<Activity> activities = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            activities.add(activity(schedule, lessons.get(0), "MONDAY", "08:00", "09:00"));
+            activities.add(activity(schedule, lessons.get(1), "TUESDAY", "08:00", "09:00"));
+            activities.add(activity(schedule, lessons.get(2), "WEDNESDAY", "09:00", "10:00"));
+        }
+        f.activity1 = activityRepo.saveAll(activities).get(0).getId();
+
+        seedRows(parent, syllabi.get(0), classes.get(0), schedules.get(0), start);
+        return f;
+    }
+
+    // Them ROWS dong vao moi danh sach ma cac route tra ve, khong dung toi id/slot/phong cua du lieu tren
+    private void seedRows(Parent parent, Syllabus syllabus1, Classes class1, Schedule schedule1, LocalDate start) {
+        AdmissionTerm pastTerm = admissionTermRepo.save(AdmissionTerm.builder()
+                .name("Bud " + (YEAR - 1))
+                .startDate(LocalDateTime.now().minusYears(1).minusDays(30))
+                .endDate(LocalDateTime.now().minusYears(1))
+                .year(YEAR - 1)
+                .maxNumberRegistration(ROWS)
+                .reservedCount(ROWS)// ROWS form APPROVED ben duoi
+                .grade(Grade.BUD)
+                .status(Status.LOCKED_TERM)
+                .build());
+        List<AdmissionTerm> terms = new ArrayList<>();
+        List<Parent> parents = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
+        List<Lesson> lessons = new ArrayList<>();
+        List<Syllabus> syllabi = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            terms.add(AdmissionTerm.builder()
+                    .name("Leaf " + (YEAR - 1 - i))
+                    .startDate(LocalDateTime.now().minusYears(1 + i).minusDays(30))
+                    .endDate(LocalDateTime.now().minusYears(1 + i))
+                    .year(YEAR - 1 - i)
+                    .maxNumberRegistration(10)
+                    .reservedCount(0)
+                    .grade(Grade.LEAF)
+                    .status(Status.LOCKED_TERM)
+                    .build());
+            parents.add(Parent.builder().address(i + " Hai Ba Trung")
+                    .account(account("parent.extra" + i + "@pes.local", Role.PARENT, Status.ACCOUNT_ACTIVE)).build());
+            students.add(student("Child extra " + i, parent, true));
+            lessons.add(lesson("Lesson extra " + i));
+            syllabi.add(Syllabus.builder().title("Syllabus extra " + i).description("Bud").build());
+        }
+        admissionTermRepo.saveAll(terms);
+        parentRepo.saveAll(parents);
+        studentRepo.saveAll(students);
+        lessonRepo.saveAll(lessons);
+        syllabusRepo.saveAll(syllabi);
+
+        List<AdmissionForm> forms = new ArrayList<>();
+        List<StudentClass> studentClasses = new ArrayList<>();
+        List<SyllabusLesson> syllabusLessons = new ArrayList<>();
+        List<Classes> classes = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            forms.add(form(parent, students.get(i), pastTerm, Status.APPROVED));
+            studentClasses.add(StudentClass.builder().student(students.get(i)).classes(class1).build());
+            syllabusLessons.add(SyllabusLesson.builder().syllabus(syllabus1).lesson(lessons.get(i)).note(String.valueOf(i + 4)).build());
+            syllabusLessons.add(SyllabusLesson.builder().syllabus(syllabi.get(i)).lesson(lessons.get(i)).note("1").build());
+            Account teacher = account("teacher.extra" + (i + 1) + "@pes.local", Role.TEACHER, Status.ACCOUNT_ACTIVE);
+            classes.add(classes("Bud extra " + (i + 1), teacher, syllabi.get(i), String.valueOf(101 + i), start, Status.ACTIVE));
+        }
+        admissionFormRepo.saveAll(forms);
+        studentClassRepo.saveAll(studentClasses);
+        syllabusLessonRepo.saveAll(syllabusLessons);
+        classesRepo.saveAll(classes);
+
+        // schedule1 (tuan 1 cua lop 1): ROWS activity 20 phut buoi chieu thu 5, khong trung slot cua cac route
+        List<Schedule> schedules = new ArrayList<>();
+        List<Activity> activities = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            int minutes = 12 * 60 + 20 * i;
+            activities.add(activity(schedule1, lessons.get(i), "THURSDAY",
+                    String.format("%02d:%02d", minutes / 60, minutes % 60),
+                    String.format("%02d:%02d", (minutes + 20) / 60, (minutes + 20) % 60)));
+            Schedule schedule = Schedule.builder().weekNumber(1).note("Week 1").classes(classes.get(i)).build();
+            schedules.add(schedule);
+            activities.add(activity(schedule, lessons.get(i), "MONDAY", "08:00", "09:00"));
+        }
+        scheduleRepo.saveAll(schedules);
+        activityRepo.saveAll(activities);
+    }
+
+    private Account account(String email, Role role, Status status) {
+        return accountRepo.save(Account.builder()
+                .email(email)
+                .password("password")
+                .role(role)
+                .status(status)
+                .createdAt(LocalDate.now())
+                .name(role.name().toLowerCase())
+                .phone("0900000000")
+                .gender("male")
+                .identityNumber("079000000000")
+                .build());
+    }
+
+    private static Student student(String name, Parent parent, boolean isStudent) {
+        return Student.builder()
+                .name(name)
+                .gender("female")
+                .dateOfBirth(LocalDate.of(YEAR - 4, 6, 1))
+                .placeOfBirth("HCM")
+                .modifiedDate(LocalDate.now())
+                .isStudent(isStudent)
+                .parent(parent)
+                .build();
+    }
+
+    private static AdmissionForm form(Parent parent, Student student, AdmissionTerm term, Status status) {
+        return AdmissionForm.builder()
+                .parent(parent)
+                .student(student)
+                .admissionTerm(term)
+                .householdRegistrationAddress("1 Tran Hung Dao")
+                .childCharacteristicsFormImg("characteristics.png")
+                .commitmentImg("commitment.png")
+                .submittedDate(LocalDate.now())
+                .status(status)
+                .build();
+    }
+
+    private static Lesson lesson(String topic) {
+        return Lesson.builder().topic(topic).description(topic).duration(45).materials("Paper").build();
+    }
+
+    private static Classes classes(String name, Account teacher, Syllabus syllabus, String room, LocalDate start, Status status) {
+        return Classes.builder()
+                .name(name)
+                .numberStudent(20)
+                .roomNumber(room)
+                .startDate(start)
+                .endDate(start.plusWeeks(4).minusDays(3))
+                .status(status)
+                .grade(Grade.BUD)
+                .teacher(teacher)
+                .syllabus(syllabus)
+                .build();
+    }
+
+    private static Activity activity(Schedule schedule, Lesson lesson, String day, String start, String end) {
+        return Activity.builder()
+                .topic(lesson.getTopic())
+                .description(lesson.getDescription())
+                .dayOfWeek(day)
+                .startTime(start)
+                .endTime(end)
+                .schedule(schedule)
+                .lesson(lesson)
+                .build();
+    }
+
+    private static Map<String, Object> classBody(Integer classId, Integer teacherId, Integer syllabusId, String name, String room) {
+        LocalDate start = LocalDate.now().with(DayOfWeek.MONDAY).plusWeeks(6);
+        Map<String, Object> body = new HashMap<>(Map.of("teacherId", teacherId, "syllabusId", syllabusId,
+                "name", name, "numberStudent", 20, "roomNumber", room,
+                "startDate", start.toString(), "endDate", start.plusWeeks(4).toString(),
+                "status", "active", "grade", "bud"));
+        if (classId != null) {
+            body.put("classId", classId);
+        }
+        return body;
+    }
+
+    private static Map<String, Object> formBody(String studentKey, int studentId, String key, int value) {
+        return Map.of(studentKey, studentId, key, value,
+                "householdRegistrationAddress", "1 Tran Hung Dao",
+                "childCharacteristicsFormImg", "characteristics.png",
+                "commitmentImg", "commitment.png",
+                "note", "Allergic to peanuts");
+    }
+
+    private static Map<String, Object> childBody(Integer id) {
+        Map<String, Object> body = new HashMap<>(Map.of("name", "Child new", "gender", "male",
+                "dateOfBirth", LocalDate.of(YEAR - 4, 3, 15).toString(), "placeOfBirth", "HCM",
+                "profileImage", "profile.png", "birthCertificateImg", "birth.png",
+                "householdRegistrationImg", "household.png", "commitmentImg", "commitment.png"));
+        if (id != null) {
+            body.put("id", id);
+        }
+        return body;
+    }
+
+    private static Object[] vars(Object... values) {
+        return values;
+    }
+
+    private static Route route(Role role, HttpMethod method, String uriTemplate, int budget,
+                               Function<Fixture, Object[]> uriVariables) {
+        return route(role, method, uriTemplate, budget, uriVariables, f -> null);
+    }
+
+    private static Route route(Role role, HttpMethod method, String uriTemplate, int budget,
+                               Function<Fixture, Object[]> uriVariables, Function<Fixture, Object> body) {
+        return new Route(role, method, uriTemplate, budget, uriVariables, body);
+    }
+
+    record Route(Role role, HttpMethod method, String uriTemplate, int budget,
+                 Function<Fixture, Object[]> uriVariables, Function<Fixture, Object> body) {
+
+        // Cung dang voi pattern cua handler (bo query string) de doi chieu voi RequestMappingHandlerMapping
+        @Override
+        public String toString() {
+            int query = uriTemplate.indexOf('?');
+            return method.name() + " " + (query < 0 ? uriTemplate : uriTemplate.substring(0, query));
+        }
+    }
+
+    static class Fixture {
+        final Map<Role, Account> accounts = new EnumMap<>(Role.class);
+        Account teacher1;
+        Account teacher2;
+        Account teacher3;
+        Account teacher4;
+        Account parentAccount;
+        int parent;
+        int activeParent;
+        int bannedParent;
+        int student1;
+        int student2;
+        int student3;
+        int student4;
+        int activeTerm;
+        int lockedTerm;
+        int form1;
+        int form2;
+        int form3;
+        int lesson1;
+        int lesson2;
+        int lesson3;
+        int lesson4;
+        int lesson5;
+        int syllabus1;
+        int syllabus2;
+        int syllabus3;
+        int class1;
+        int class2;
+        int class3;
+        int schedule1;
+        int schedule2;
+        int schedule3;
+        int activity1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.sba301.group1.pes_be.repositories;
+
+import com.sba301.group1.pes_be.enums.Role;
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.Account;
+import com.sba301.group1.pes_be.models.Activity;
+import com.sba301.group1.pes_be.models.Classes;
+import com.sba301.group1.pes_be.models.Schedule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ActivityRepoTests {
+
+    // Thu 2
+    private static final LocalDate MONDAY = LocalDate.of(2025, 9, 1);
+
+    @Autowired
+    private ActivityRepo activityRepo;
+
+    @Autowired
+    private ClassesRepo classesRepo;
+
+    @Autowired
+    private ScheduleRepo scheduleRepo;
+
+    @Autowired
+    private AccountRepo accountRepo;
+
+    @Test
+    void conflictCandidatesAreLimitedToTheWeekDayAndSlotRange() {
+        Account teacher = accountRepo.save(Account.builder().email("teacher@pes.local").role(Role.TEACHER).status(Status.ACCOUNT_ACTIVE).build());
+        Classes target = classes("Target", teacher, "101", MONDAY);
+        // lop cung giao vien bat dau som hon 1 tuan: tuan 3 cua no trung tuan 2 cua lop target
+        Classes other = classes("Other", teacher, "202", MONDAY.minusWeeks(1));
+        Schedule targetWeek2 = schedule(target, 2);
+        Schedule otherWeek2 = schedule(other, 2);
+        Schedule otherWeek3 = schedule(other, 3);
+
+        int sameSchedule = activity(targetWeek2, "MONDAY", "08:00", "09:00");
+        activity(targetWeek2, "MONDAY", "10:00", "11:00");// ngoai khung gio
+        activity(targetWeek2, "TUESDAY", "08:00", "09:00");// khac thu
+        int sameTeacher = activity(otherWeek3, "monday", "08:30", "09:30");
+        activity(otherWeek2, "MONDAY", "08:00", "09:00");// tuan truoc
+
+        List<Integer> ids = activityRepo.findConflictCandidates(targetWeek2.getId(), teacher.getId(), "101", Set.of("MONDAY"),
+                        "08:15", "09:45", MONDAY.plusWeeks(1).minusDays(6), MONDAY.plusWeeks(1).plusDays(6)).stream()
+                .map(ActivityRepo.ActivitySlot::getId)
+                .sorted()
+                .toList();
+
+        assertEquals(List.of(sameSchedule, sameTeacher), ids);
+    }
+
+    private Classes classes(String name, Account teacher, String room, LocalDate start) {
+        return classesRepo.save(Classes.builder()
+                .name(name)
+                .teacher(teacher)
+                .roomNumber(room)
+                .startDate(start)
+                .endDate(start.plusMonths(9))
+                .status(Status.ACTIVE)
+                .build());
+    }
+
+    private Schedule schedule(Classes classes, int weekNumber) {
+        return scheduleRepo.save(Schedule.builder().classes(classes).weekNumber(weekNumber).build());
+    }
+
+    private int activity(Schedule schedule, String day, String start, String end) {
+        return activityRepo.save(Activity.builder()
+                .topic(day + " " + start)
+                .dayOfWeek(day)
+                .startTime(start)
+                .endTime(end)
+                .schedule(schedule)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,73 @@
+package com.sba301.group1.pes_be.repositories;
+
+import com.sba301.group1.pes_be.dto.response.AdmissionFormResponse;
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.AdmissionForm;
+import com.sba301.group1.pes_be.models.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AdmissionFormRepoTests {
+
+    @Autowired
+    private AdmissionFormRepo admissionFormRepo;
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    @Test
+    void keysetWalksThroughFormsWithoutSubmittedDate() {
+        Student student = studentRepo.save(Student.builder().name("Child").build());
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        List<Integer> dated = new ArrayList<>();
+        List<Integer> undated = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            dated.add(save(student, today.minusDays(i)));
+            undated.add(save(student, null));
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        LocalDate cursorDate = null;
+        Integer cursorId = null;
+        while (true) {
+            List<AdmissionFormResponse> page = admissionFormRepo.findFormPage(null, null, null, null, null,
+                    cursorDate, cursorId, PageRequest.of(0, 2));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(form -> seen.add(form.id()));
+            AdmissionFormResponse last = page.get(page.size() - 1);
+            // giong cursor ma AdmissionServiceImpl tra ve
+            cursorDate = last.submittedDate() != null ? last.submittedDate() : LocalDate.parse(AdmissionFormRepo.UNSUBMITTED_DATE);
+            cursorId = last.id();
+        }
+
+        // form co ngay moi nhat truoc, form chua co ngay o cuoi (id giam dan)
+        List<Integer> expected = new ArrayList<>(dated);
+        Collections.reverse(undated);
+        expected.addAll(undated);
+        assertEquals(expected, seen);
+    }
+
+    private int save(Student student, LocalDate submittedDate) {
+        return admissionFormRepo.save(AdmissionForm.builder()
+                .student(student)
+                .submittedDate(submittedDate)
+                .status(Status.PENDING_APPROVAL)
+                .build()).getId();
+    }
+}
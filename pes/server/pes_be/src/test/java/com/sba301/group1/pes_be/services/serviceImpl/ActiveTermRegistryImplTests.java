@@ -0,0 +1,78 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.enums.Grade;
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.AdmissionTerm;
+import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActiveTermRegistryImplTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    private final AdmissionTermRepo admissionTermRepo = mock(AdmissionTermRepo.class);
+
+    private final ActiveTermRegistryImpl registry = new ActiveTermRegistryImpl(admissionTermRepo);
+
+    @Test
+    void termIsFoundOnlyInsideItsDateRange() {
+        when(admissionTermRepo.findAllByStatus(Status.ACTIVE_TERM)).thenReturn(List.of(
+                term(1, Grade.BUD, NOW.minusDays(10), NOW.plusDays(10))));
+        registry.refresh();
+
+        assertEquals(1, registry.findActiveTermId(Grade.BUD, NOW));
+        assertNull(registry.findActiveTermId(Grade.BUD, NOW.plusDays(11)));
+        assertNull(registry.findActiveTermId(Grade.SEED, NOW));
+    }
+
+    @Test
+    void overlappingTermsResolveToLatestStart() {
+        // term chinh va extra term cung ACTIVE, thu tu tu DB khong anh huong ket qua
+        when(admissionTermRepo.findAllByStatus(Status.ACTIVE_TERM)).thenReturn(List.of(
+                term(7, Grade.BUD, NOW.minusDays(2), NOW.plusDays(20)),
+                term(3, Grade.BUD, NOW.minusDays(30), NOW.plusDays(5)),
+                term(5, Grade.BUD, NOW.minusDays(2), NOW.plusDays(20))));
+        registry.refresh();
+
+        assertEquals(7, registry.findActiveTermId(Grade.BUD, NOW));
+        assertEquals(3, registry.findActiveTermId(Grade.BUD, NOW.minusDays(10)));
+    }
+
+    @Test
+    void refreshInsideTransactionWaitsForCommit() {
+        when(admissionTermRepo.findAllByStatus(Status.ACTIVE_TERM)).thenReturn(List.of(
+                term(1, Grade.BUD, NOW.minusDays(10), NOW.plusDays(10))));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.refresh();
+            assertNull(registry.findActiveTermId(Grade.BUD, NOW));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, registry.findActiveTermId(Grade.BUD, NOW));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static AdmissionTerm term(int id, Grade grade, LocalDateTime start, LocalDateTime end) {
+        return AdmissionTerm.builder()
+                .id(id)
+                .grade(grade)
+                .startDate(start)
+                .endDate(end)
+                .year(start.getYear())
+                .status(Status.ACTIVE_TERM)
+                .build();
+    }
+}
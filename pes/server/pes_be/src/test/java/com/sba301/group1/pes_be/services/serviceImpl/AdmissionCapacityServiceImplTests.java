@@ -0,0 +1,196 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.dto.requests.SubmitAdmissionFormRequest;
+import com.sba301.group1.pes_be.dto.response.ResponseObject;
+import com.sba301.group1.pes_be.enums.Grade;
+import com.sba301.group1.pes_be.enums.Role;
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.Account;
+import com.sba301.group1.pes_be.models.AdmissionTerm;
+import com.sba301.group1.pes_be.models.Parent;
+import com.sba301.group1.pes_be.models.Student;
+import com.sba301.group1.pes_be.repositories.AccountRepo;
+import com.sba301.group1.pes_be.repositories.AdmissionFormRepo;
+import com.sba301.group1.pes_be.repositories.AdmissionTermRepo;
+import com.sba301.group1.pes_be.repositories.ParentRepo;
+import com.sba301.group1.pes_be.repositories.StudentRepo;
+import com.sba301.group1.pes_be.services.ActiveTermRegistry;
+import com.sba301.group1.pes_be.services.AdmissionCapacityService;
+import com.sba301.group1.pes_be.services.JWTService;
+import com.sba301.group1.pes_be.services.ParentService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Nhieu phu huynh submit cung luc vao 1 term gan het cho tren H2: so form duoc nhan khong vuot
+ * maxNumberRegistration, va cho da giu duoc tra lai khi transaction cua nguoi goi rollback.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AdmissionCapacityServiceImplTests {
+
+    private static final int YEAR = LocalDate.now().getYear();
+
+    private static final int CAPACITY = 3;
+
+    // nho hon pool connection (10): moi submit giu 1 connection va muon them 1 cho reserve
+    private static final int PARENTS = 8;
+
+    @Autowired
+    private ParentService parentService;
+
+    @Autowired
+    private AdmissionCapacityService admissionCapacityService;
+
+    @Autowired
+    private ActiveTermRegistry activeTermRegistry;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private AccountRepo accountRepo;
+
+    @Autowired
+    private ParentRepo parentRepo;
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    @Autowired
+    private AdmissionTermRepo admissionTermRepo;
+
+    @Autowired
+    private AdmissionFormRepo admissionFormRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private int termId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        for (String table : jdbcTemplate.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'", String.class)) {
+            jdbcTemplate.execute("TRUNCATE TABLE \"" + table + "\"");
+        }
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+
+        termId = admissionTermRepo.save(AdmissionTerm.builder()
+                .name("Bud " + YEAR)
+                .startDate(LocalDateTime.now().minusDays(1))
+                .endDate(LocalDateTime.now().plusDays(30))
+                .year(YEAR)
+                .maxNumberRegistration(CAPACITY)
+                .reservedCount(0)
+                .grade(Grade.BUD)
+                .status(Status.ACTIVE_TERM)
+                .build()).getId();
+        activeTermRegistry.refresh();
+    }
+
+    @Test
+    void concurrentSubmissionsNeverExceedCapacity() throws Exception {
+        List<MockHttpServletRequest> requests = new ArrayList<>();
+        List<Integer> studentIds = new ArrayList<>();
+        for (int i = 0; i < PARENTS; i++) {
+            Account account = accountRepo.save(Account.builder()
+                    .email("parent" + i + "@pes.local")
+                    .password("password")
+                    .role(Role.PARENT)
+                    .status(Status.ACCOUNT_ACTIVE)
+                    .createdAt(LocalDate.now())
+                    .name("Parent " + i)
+                    .build());
+            Parent parent = parentRepo.save(Parent.builder().address("1 Le Loi").account(account).build());
+            studentIds.add(studentRepo.save(Student.builder()
+                    .name("Child " + i)
+                    .gender("female")
+                    .dateOfBirth(LocalDate.of(YEAR - 4, 6, 1))
+                    .isStudent(false)
+                    .parent(parent)
+                    .build()).getId());
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setCookies(new Cookie("refresh", jwtService.generateRefreshToken(account)));
+            requests.add(request);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(PARENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<ResponseObject>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < PARENTS; i++) {
+                SubmitAdmissionFormRequest body = SubmitAdmissionFormRequest.builder()
+                        .studentId(studentIds.get(i))
+                        .householdRegistrationAddress("1 Le Loi")
+                        .childCharacteristicsFormImg("characteristics.png")
+                        .commitmentImg("commitment.png")
+                        .build();
+                MockHttpServletRequest request = requests.get(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return parentService.submitAdmissionForm(body, request);
+                }));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<ResponseEntity<ResponseObject>> result : results) {
+                ResponseEntity<ResponseObject> response = result.get();
+                if (response.getStatusCode().is2xxSuccessful() && response.getBody().isSuccess()) {
+                    accepted++;
+                } else {
+                    assertEquals(409, response.getStatusCode().value(), response.getBody().getMessage());
+                }
+            }
+
+            assertEquals(CAPACITY, accepted);
+            assertEquals(CAPACITY, admissionFormRepo.count());
+            assertEquals(CAPACITY, admissionTermRepo.findById(termId).orElseThrow().getReservedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reservationIsReleasedWhenCallerRollsBack() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(tx -> {
+            assertTrue(admissionCapacityService.reserve(termId));
+            throw new IllegalStateException("form save failed");
+        }));
+
+        assertEquals(0, admissionTermRepo.findById(termId).orElseThrow().getReservedCount());
+    }
+
+    @Test
+    void reservationIsKeptWhenCallerCommits() {
+        transactionTemplate.executeWithoutResult(tx -> assertTrue(admissionCapacityService.reserve(termId)));
+
+        assertEquals(1, admissionTermRepo.findById(termId).orElseThrow().getReservedCount());
+    }
+}
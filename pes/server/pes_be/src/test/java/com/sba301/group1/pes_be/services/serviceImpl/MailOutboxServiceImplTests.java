@@ -0,0 +1,173 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sba301.group1.pes_be.enums.Status;
+import com.sba301.group1.pes_be.models.MailOutbox;
+import com.sba301.group1.pes_be.repositories.MailOutboxRepo;
+import com.sba301.group1.pes_be.services.MailOutboxService;
+import com.sba301.group1.pes_be.services.MailService;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gui mail trong outbox qua SMTP that (GreenMail): gui thanh cong, SMTP loi thi retry voi backoff,
+ * qua so lan cho phep thi MAIL_DEAD, va mail dang duoc claim (lease con han) khong bi gui lai.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pes_mail;MODE=MSSQLServer;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE,USER",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "mail-outbox-max-attempts=2"
+})
+@ActiveProfiles("test")
+class MailOutboxServiceImplTests {
+
+    private static final long TIMEOUT = 10_000;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("test@pes.local", "test"));
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailOutboxRepo mailOutboxRepo;
+
+    @BeforeEach
+    void setUp() {
+        mailOutboxRepo.deleteAll();
+    }
+
+    @Test
+    void dueMailIsSentAndMarkedSent() throws Exception {
+        mailService.queueMail("parent@pes.local", "[PES] Submitted Form", "Admission Form submitted", "<p>Hello</p>");
+
+        mailOutboxService.dispatchPending();
+
+        assertTrue(greenMail.waitForIncomingEmail(TIMEOUT, 1));
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertEquals("[PES] Submitted Form", received.getSubject());
+        assertEquals("parent@pes.local", received.getAllRecipients()[0].toString());
+
+        MailOutbox mail = awaitMail(m -> m.getStatus() == Status.MAIL_SENT);
+        assertNotNull(mail.getSentAt());
+        assertNull(mail.getClaimToken());
+        assertEquals(0, mail.getAttempts());
+    }
+
+    @Test
+    void failedMailIsRetriedThenMarkedDead() {
+        mailService.queueMail("parent@pes.local", "[PES] Submitted Form", "Admission Form submitted", "<p>Hello</p>");
+        greenMail.stop();
+
+        // lan 1 loi ket noi: quay lai MAIL_PENDING, hen gio retry
+        LocalDateTime before = LocalDateTime.now();
+        mailOutboxService.dispatchPending();
+        MailOutbox mail = awaitMail(m -> m.getAttempts() == 1);
+        assertEquals(Status.MAIL_PENDING, mail.getStatus());
+        assertTrue(mail.getNextAttemptAt().isAfter(before));
+        assertNotNull(mail.getLastError());
+        assertNull(mail.getClaimToken());
+
+        // chua den han retry thi khong gui lai
+        mailOutboxService.dispatchPending();
+        assertEquals(1, mailOutboxRepo.findById(mail.getId()).orElseThrow().getAttempts());
+
+        // lan 2 (= mail-outbox-max-attempts) van loi thi MAIL_DEAD
+        makeDue(mail.getId());
+        mailOutboxService.dispatchPending();
+        mail = awaitMail(m -> m.getAttempts() == 2);
+        assertEquals(Status.MAIL_DEAD, mail.getStatus());
+    }
+
+    @Test
+    void failedMailIsSentOnRetry() throws Exception {
+        mailService.queueMail("parent@pes.local", "[PES] Refilled Form", "Admission Form refilled", "<p>Hello</p>");
+        greenMail.stop();
+        mailOutboxService.dispatchPending();
+        MailOutbox mail = awaitMail(m -> m.getAttempts() == 1);
+
+        greenMail.start();
+        makeDue(mail.getId());
+        mailOutboxService.dispatchPending();
+
+        assertTrue(greenMail.waitForIncomingEmail(TIMEOUT, 1));
+        mail = awaitMail(m -> m.getStatus() == Status.MAIL_SENT);
+        assertNull(mail.getLastError());
+        assertEquals(1, mail.getAttempts());
+    }
+
+    @Test
+    void claimedMailIsNotSentAgainUntilLeaseExpires() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        MailOutbox claimed = mailOutboxRepo.save(MailOutbox.builder()
+                .recipient("parent@pes.local")
+                .subject("[PES] Submitted Form")
+                .heading("Admission Form submitted")
+                .body("<p>Hello</p>")
+                .status(Status.MAIL_SENDING)
+                .claimToken("other-dispatcher")
+                .nextAttemptAt(now.plusMinutes(10))
+                .createdAt(now)
+                .build());
+
+        mailOutboxService.dispatchPending();
+        mailOutboxService.dispatchPending();
+        assertEquals("other-dispatcher", mailOutboxRepo.findById(claimed.getId()).orElseThrow().getClaimToken());
+
+        // dispatcher kia chet, het lease thi mail duoc claim lai va gui dung 1 lan
+        makeDue(claimed.getId());
+        mailOutboxService.dispatchPending();
+        mailOutboxService.dispatchPending();
+
+        assertTrue(greenMail.waitForIncomingEmail(TIMEOUT, 1));
+        awaitMail(m -> m.getStatus() == Status.MAIL_SENT);
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    private void makeDue(int id) {
+        MailOutbox mail = mailOutboxRepo.findById(id).orElseThrow();
+        mail.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        mailOutboxRepo.save(mail);
+    }
+
+    // mail duoc gui tren mailExecutor, dispatchPending tra ve truoc khi gui xong
+    private MailOutbox awaitMail(Predicate<MailOutbox> condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (true) {
+            MailOutbox mail = mailOutboxRepo.findAll().get(0);
+            if (condition.test(mail)) {
+                return mail;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Mail outbox did not reach the expected state: " + mail);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
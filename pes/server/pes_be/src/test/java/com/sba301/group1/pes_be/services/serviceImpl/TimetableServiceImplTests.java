@@ -0,0 +1,211 @@
+package com.sba301.group1.pes_be.services.serviceImpl;
+
+import com.sba301.group1.pes_be.services.serviceImpl.TimetableServiceImpl.ClassInput;
+import com.sba301.group1.pes_be.services.serviceImpl.TimetableServiceImpl.ClassPlan;
+import com.sba301.group1.pes_be.services.serviceImpl.TimetableServiceImpl.LessonInput;
+import com.sba301.group1.pes_be.services.serviceImpl.TimetableServiceImpl.PlannedActivity;
+import com.sba301.group1.pes_be.services.serviceImpl.TimetableServiceImpl.Settings;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimetableServiceImplTests {
+
+    // Thu 2
+    private static final LocalDate MONDAY = LocalDate.of(2025, 9, 1);
+
+    private static final List<DayOfWeek> WEEKDAYS = List.of(
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY
+    );
+
+    // 08:00 - 16:00, khong nghi giua tiet
+    private static final Settings SETTINGS = new Settings(WEEKDAYS, 8 * 60, 16 * 60, 0);
+
+    @Test
+    void lessonsAreSpreadEvenlyOverTeachingDays() {
+        // 4 tuan = 20 ngay hoc, 10 lesson -> lesson i xep vao ngay hoc thu 2i
+        ClassInput input = new ClassInput(1, null, null, MONDAY, MONDAY.plusDays(25), lessons(10, 45));
+
+        ClassPlan plan = plan(input, Map.of(), SETTINGS);
+
+        assertNull(plan.error());
+        assertEquals(10, plan.activities().size());
+        assertSlot(plan.activities().get(0), 1, DayOfWeek.MONDAY, 480);
+        assertSlot(plan.activities().get(1), 1, DayOfWeek.WEDNESDAY, 480);
+        assertSlot(plan.activities().get(5), 3, DayOfWeek.MONDAY, 480);
+        assertSlot(plan.activities().get(9), 4, DayOfWeek.THURSDAY, 480);
+    }
+
+    @Test
+    void lessonsOnTheSameDayFollowEachOtherWithTheBreak() {
+        ClassInput input = new ClassInput(1, null, null, MONDAY, MONDAY, lessons(3, 45));
+
+        ClassPlan plan = plan(input, Map.of(), new Settings(WEEKDAYS, 8 * 60, 16 * 60, 15));
+
+        assertNull(plan.error());
+        assertEquals(List.of(480, 540, 600), plan.activities().stream().map(PlannedActivity::start).toList());
+        assertEquals(List.of(525, 585, 645), plan.activities().stream().map(PlannedActivity::end).toList());
+    }
+
+    @Test
+    void seededTeacherAndRoomSlotsAreAvoided() {
+        ClassInput input = new ClassInput(1, 7, "101", MONDAY, MONDAY, lessons(1, 45));
+        Map<String, List<int[]>> seed = new HashMap<>();
+        seed.put("T:7:" + MONDAY, new ArrayList<>(List.<int[]>of(new int[]{480, 540})));
+        seed.put("R:101:" + MONDAY, new ArrayList<>(List.<int[]>of(new int[]{540, 600})));
+
+        ClassPlan plan = plan(input, seed, SETTINGS);
+
+        assertNull(plan.error());
+        assertSlot(plan.activities().get(0), 1, DayOfWeek.MONDAY, 600);
+        // seed chi doc, moi nhom chep ban rieng
+        assertEquals(1, seed.get("T:7:" + MONDAY).size());
+        assertEquals(1, seed.get("R:101:" + MONDAY).size());
+    }
+
+    @Test
+    void fullyBookedDayMovesTheLessonToTheNextDay() {
+        ClassInput input = new ClassInput(1, 7, null, MONDAY, MONDAY.plusDays(4), lessons(1, 45));
+        Map<String, List<int[]>> seed = Map.of("T:7:" + MONDAY, List.<int[]>of(new int[]{480, 960}));
+
+        ClassPlan plan = plan(input, seed, SETTINGS);
+
+        assertNull(plan.error());
+        assertSlot(plan.activities().get(0), 1, DayOfWeek.TUESDAY, 480);
+    }
+
+    @Test
+    void lessonLongerThanTheTeachingDayFails() {
+        ClassInput input = new ClassInput(1, null, null, MONDAY, MONDAY.plusDays(4), lessons(1, 45));
+
+        ClassPlan plan = plan(input, Map.of(), new Settings(WEEKDAYS, 8 * 60, 8 * 60 + 30, 0));
+
+        assertTrue(plan.error().startsWith("Not enough teaching time"), plan.error());
+        assertTrue(plan.activities().isEmpty());
+    }
+
+    @Test
+    void classesSharingATeacherArePlannedWithoutOverlap() {
+        List<ClassInput> group = List.of(
+                new ClassInput(1, 7, "101", MONDAY, MONDAY, lessons(1, 45)),
+                new ClassInput(2, 7, "102", MONDAY, MONDAY, lessons(1, 45))
+        );
+
+        List<ClassPlan> plans = TimetableServiceImpl.planGroup(group, Map.of(), SETTINGS);
+
+        assertSlot(plans.get(0).activities().get(0), 1, DayOfWeek.MONDAY, 480);
+        assertSlot(plans.get(1).activities().get(0), 1, DayOfWeek.MONDAY, 525);
+    }
+
+    @Test
+    void firstFreeFindsTheEarliestGapThatFits() {
+        List<String> keys = List.of("T:7", "R:101");
+        Map<String, List<int[]>> seed = Map.of(
+                "T:7", List.<int[]>of(new int[]{480, 540}),
+                "R:101", List.<int[]>of(new int[]{600, 660})
+        );
+
+        // khoang [start, end): lesson 540-600 vua khit giua 2 khoang ban
+        assertEquals(540, TimetableServiceImpl.firstFree(keys, new HashMap<>(), seed, 480, 60, 720));
+        assertEquals(660, TimetableServiceImpl.firstFree(keys, new HashMap<>(), seed, 480, 61, 722));
+        assertEquals(-1, TimetableServiceImpl.firstFree(keys, new HashMap<>(), seed, 480, 61, 720));
+        assertEquals(500, TimetableServiceImpl.firstFree(List.of("C:1"), new HashMap<>(), seed, 500, 60, 720));
+    }
+
+    @Test
+    void classesSharingTeacherOrRoomAreGroupedTransitively() {
+        List<ClassInput> inputs = List.of(
+                new ClassInput(1, 1, "101", MONDAY, MONDAY, List.of()),
+                new ClassInput(2, 2, "101", MONDAY, MONDAY, List.of()),
+                new ClassInput(3, 2, "102", MONDAY, MONDAY, List.of()),
+                new ClassInput(4, 3, "103", MONDAY, MONDAY, List.of()),
+                new ClassInput(5, null, null, MONDAY, MONDAY, List.of())
+        );
+
+        List<List<ClassInput>> groups = TimetableServiceImpl.group(inputs);
+
+        assertEquals(3, groups.size());
+        assertEquals(List.of(1, 2, 3), groups.get(0).stream().map(ClassInput::classId).toList());
+        assertEquals(List.of(4), groups.get(1).stream().map(ClassInput::classId).toList());
+        assertEquals(List.of(5), groups.get(2).stream().map(ClassInput::classId).toList());
+    }
+
+    @Test
+    void classesSharingTeacherOrRoomInDifferentYearsAreNotGrouped() {
+        List<ClassInput> inputs = List.of(
+                new ClassInput(1, 1, "101", MONDAY, MONDAY.plusDays(4), List.of()),
+                new ClassInput(2, 1, "101", MONDAY.plusWeeks(1), MONDAY.plusWeeks(1).plusDays(4), List.of()),
+                new ClassInput(3, 2, "101", MONDAY.plusDays(4), MONDAY.plusWeeks(1), List.of())
+        );
+
+        // lop 1 va 2 khong giao nhau, nhung lop 3 dung chung phong va giao voi ca 2
+        assertEquals(1, TimetableServiceImpl.group(inputs).size());
+        assertEquals(2, TimetableServiceImpl.group(inputs.subList(0, 2)).size());
+    }
+
+    @Test
+    void fiftyClassSchoolYearIsPlannedWithoutConflicts() {
+        // 50 lop, 25 giao vien (2 lop/giao vien), 20 phong, 150 lesson/lop, ca nam hoc 09/2025 - 05/2026
+        List<ClassInput> inputs = IntStream.range(0, 50)
+                .mapToObj(i -> new ClassInput(i + 1, i / 2 + 1, String.valueOf(i % 20 + 1),
+                        MONDAY, LocalDate.of(2026, 5, 29), lessons(150, 45)))
+                .toList();
+
+        List<ClassPlan> plans = new ArrayList<>();
+        for (List<ClassInput> group : TimetableServiceImpl.group(inputs)) {
+            plans.addAll(TimetableServiceImpl.planGroup(group, Map.of(), SETTINGS));
+        }
+
+        assertEquals(50, plans.size());
+        // moi lop hoac xep du 150 lesson, hoac bao loi va khong co lesson nao
+        assertTrue(plans.stream().allMatch(plan -> plan.error() == null
+                ? plan.activities().size() == 150
+                : plan.activities().isEmpty()));
+
+        Map<Integer, ClassInput> byId = new HashMap<>();
+        inputs.forEach(input -> byId.put(input.classId(), input));
+        Map<String, List<int[]>> occupied = new HashMap<>();
+        for (ClassPlan plan : plans) {
+            ClassInput input = byId.get(plan.classId());
+            for (PlannedActivity activity : plan.activities()) {
+                LocalDate date = MONDAY.plusWeeks(activity.weekNumber() - 1)
+                        .with(TemporalAdjusters.nextOrSame(activity.day()));
+                for (String key : List.of("C:" + input.classId(), "T:" + input.teacherId(), "R:" + input.roomNumber())) {
+                    List<int[]> slots = occupied.computeIfAbsent(key + ":" + date, k -> new ArrayList<>());
+                    for (int[] slot : slots) {
+                        assertTrue(activity.end() <= slot[0] || activity.start() >= slot[1],
+                                "Conflict on " + key + " at " + date);
+                    }
+                    slots.add(new int[]{activity.start(), activity.end()});
+                }
+            }
+        }
+    }
+
+    private static ClassPlan plan(ClassInput input, Map<String, List<int[]>> seed, Settings settings) {
+        return TimetableServiceImpl.planClass(input, new HashMap<>(), seed, settings);
+    }
+
+    private static List<LessonInput> lessons(int count, int duration) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new LessonInput(i + 1, "Lesson " + (i + 1), duration))
+                .toList();
+    }
+
+    private static void assertSlot(PlannedActivity activity, int weekNumber, DayOfWeek day, int start) {
+        assertEquals(weekNumber, activity.weekNumber());
+        assertEquals(day, activity.day());
+        assertEquals(start, activity.start());
+    }
+}
@@ -0,0 +1,187 @@
+package com.sba301.group1.pes_be.validations.ActivityValidation;
+
+import com.sba301.group1.pes_be.models.Account;
+import com.sba301.group1.pes_be.models.Classes;
+import com.sba301.group1.pes_be.models.Schedule;
+import com.sba301.group1.pes_be.repositories.ActivityRepo;
+import com.sba301.group1.pes_be.validations.ActivityValidation.ActivityConflictValidation.Candidate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ActivityConflictValidationTests {
+
+    // Thu 2
+    private static final LocalDate MONDAY = LocalDate.of(2025, 9, 1);
+
+    private static final int TEACHER = 7;
+
+    private static final String ROOM = "101";
+
+    @Test
+    void overlapInSameScheduleIsRejected() {
+        Schedule schedule = schedule(10, 1, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning(slot(100, 10, 1, 1, MONDAY, TEACHER, ROOM, "MONDAY", "08:00", "09:00"));
+
+        String error = ActivityConflictValidation.validate(schedule, List.of(candidate(null, "MONDAY", "08:30", "09:30")), repo);
+
+        assertTrue(error.contains("in the same schedule"), error);
+    }
+
+    @Test
+    void overlapWithinTheBatchIsRejected() {
+        Schedule schedule = schedule(10, 1, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning();
+
+        String error = ActivityConflictValidation.validate(schedule, List.of(
+                candidate(null, "TUESDAY", "08:00", "09:00"),
+                candidate(null, "TUESDAY", "08:00", "09:00")
+        ), repo);
+
+        assertTrue(error.contains("in the same schedule"), error);
+    }
+
+    @Test
+    void teacherTeachingAnotherClassAtTheSameTimeIsRejected() {
+        Schedule schedule = schedule(10, 1, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning(slot(200, 20, 1, 2, MONDAY, TEACHER, "202", "MONDAY", "08:00", "09:00"));
+
+        String error = ActivityConflictValidation.validate(schedule, List.of(candidate(null, "MONDAY", "08:30", "09:30")), repo);
+
+        assertTrue(error.startsWith("Teacher is already teaching activity #200"), error);
+    }
+
+    @Test
+    void roomUsedByAnotherClassAtTheSameTimeIsRejected() {
+        Schedule schedule = schedule(10, 1, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning(slot(300, 30, 1, 3, MONDAY, 8, ROOM, "MONDAY", "08:00", "09:00"));
+
+        String error = ActivityConflictValidation.validate(schedule, List.of(candidate(null, "MONDAY", "08:30", "09:30")), repo);
+
+        assertTrue(error.startsWith("Room 101 is already used by activity #300"), error);
+    }
+
+    @Test
+    void updatedActivityDoesNotConflictWithItself() {
+        Schedule schedule = schedule(10, 1, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning(slot(100, 10, 1, 1, MONDAY, TEACHER, ROOM, "MONDAY", "08:00", "09:00"));
+
+        String error = ActivityConflictValidation.validate(schedule, List.of(candidate(100, "MONDAY", "08:15", "09:15")), repo);
+
+        assertEquals("", error);
+    }
+
+    @Test
+    void backToBackSlotsDoNotOverlap() {
+        Schedule schedule = schedule(10, 1, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning(
+                slot(100, 10, 1, 1, MONDAY, TEACHER, ROOM, "MONDAY", "08:00", "09:00"),
+                slot(200, 20, 1, 2, MONDAY, TEACHER, ROOM, "MONDAY", "10:00", "11:00")
+        );
+
+        String error = ActivityConflictValidation.validate(schedule, List.of(candidate(null, "MONDAY", "09:00", "10:00")), repo);
+
+        assertEquals("", error);
+    }
+
+    @Test
+    void classStartingMidWeekMapsDaysToTheFollowingDates() {
+        // Lop bat dau thu 4 (03/09): tuan 1 gom thu 4 03/09 .. thu 3 09/09, nen MONDAY la 08/09
+        LocalDate wednesday = MONDAY.plusDays(2);
+        Schedule schedule = schedule(10, 1, 1, wednesday, TEACHER, ROOM);
+
+        // Lop khac cung giao vien, bat dau thu 2 01/09: tuan 1 MONDAY = 01/09 khong trung, tuan 2 MONDAY = 08/09 trung
+        ActivityRepo sameDate = repoReturning(slot(200, 20, 2, 2, MONDAY, TEACHER, "202", "MONDAY", "08:00", "09:00"));
+        ActivityRepo earlierDate = repoReturning(slot(201, 21, 1, 2, MONDAY, TEACHER, "202", "MONDAY", "08:00", "09:00"));
+
+        List<Candidate> candidates = List.of(candidate(null, "MONDAY", "08:00", "09:00"));
+        assertTrue(ActivityConflictValidation.validate(schedule, candidates, sameDate).startsWith("Teacher is already teaching activity #200"));
+        assertEquals("", ActivityConflictValidation.validate(schedule, candidates, earlierDate));
+    }
+
+    @Test
+    void invalidOrReversedTimesAreRejected() {
+        Schedule schedule = schedule(10, 1, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning();
+
+        assertTrue(ActivityConflictValidation.validate(schedule, List.of(candidate(null, "FUNDAY", "08:00", "09:00")), repo)
+                .startsWith("Invalid time slot"));
+        assertTrue(ActivityConflictValidation.validate(schedule, List.of(candidate(null, "MONDAY", "09:00", "09:00")), repo)
+                .startsWith("End time must be after start time"));
+    }
+
+    @Test
+    void onlyTheCandidateDaysSlotRangeAndWeekAreQueried() {
+        // tuan 3 cua lop bat dau thu 2 01/09 -> 15/09..21/09
+        Schedule schedule = schedule(10, 3, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning();
+
+        ActivityConflictValidation.validate(schedule, List.of(
+                candidate(null, "monday", "08:30", "09:30"),
+                candidate(null, "WEDNESDAY", "13:00", "14:15"),
+                candidate(null, "FRIDAY", "bad", "09:00")
+        ), repo);
+
+        verify(repo).findConflictCandidates(10, TEACHER, ROOM, Set.of("MONDAY", "WEDNESDAY"), "08:30", "14:15",
+                MONDAY.plusDays(8), MONDAY.plusDays(20));
+    }
+
+    @Test
+    void noQueryWhenNoCandidateHasAValidSlot() {
+        Schedule schedule = schedule(10, 1, 1, MONDAY, TEACHER, ROOM);
+        ActivityRepo repo = repoReturning();
+
+        String error = ActivityConflictValidation.validate(schedule, List.of(candidate(null, "MONDAY", "09:00", "08:00")), repo);
+
+        assertTrue(error.startsWith("End time must be after start time"), error);
+        verifyNoInteractions(repo);
+    }
+
+    private static Schedule schedule(int scheduleId, int weekNumber, int classId, LocalDate classStart, int teacherId, String room) {
+        Classes classes = Classes.builder()
+                .id(classId)
+                .name("Class " + classId)
+                .startDate(classStart)
+                .endDate(classStart.plusMonths(9))
+                .roomNumber(room)
+                .teacher(Account.builder().id(teacherId).build())
+                .build();
+        return Schedule.builder()
+                .id(scheduleId)
+                .weekNumber(weekNumber)
+                .classes(classes)
+                .build();
+    }
+
+    private static Candidate candidate(Integer activityId, String day, String start, String end) {
+        return new Candidate(activityId, "Candidate", day, start, end);
+    }
+
+    private static ActivityRepo repoReturning(ActivityRepo.ActivitySlot... slots) {
+        ActivityRepo repo = mock(ActivityRepo.class);
+        when(repo.findConflictCandidates(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(List.of(slots));
+        return repo;
+    }
+
+    private static ActivityRepo.ActivitySlot slot(int id, int scheduleId, int weekNumber, int classId, LocalDate classStart,
+                                                  int teacherId, String room, String day, String start, String end) {
+        return new Slot(id, "Existing " + id, day, start, end, scheduleId, weekNumber, classId, "Class " + classId,
+                classStart, teacherId, room);
+    }
+
+    private record Slot(Integer getId, String getTopic, String getDayOfWeek, String getStartTime, String getEndTime,
+                        Integer getScheduleId, Integer getWeekNumber, Integer getClassId, String getClassName,
+                        LocalDate getClassStartDate, Integer getTeacherId, String getRoomNumber)
+            implements ActivityRepo.ActivitySlot {
+    }
+}
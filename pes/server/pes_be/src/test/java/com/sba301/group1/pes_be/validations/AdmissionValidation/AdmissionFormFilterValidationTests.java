@@ -0,0 +1,28 @@
+package com.sba301.group1.pes_be.validations.AdmissionValidation;
+
+import com.sba301.group1.pes_be.dto.requests.AdmissionFormFilterRequest;
+import com.sba301.group1.pes_be.enums.Status;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdmissionFormFilterValidationTests {
+
+    @Test
+    void formStatusesAreParsed() {
+        assertEquals(Status.PENDING_APPROVAL, AdmissionFormFilterValidation.parseStatus("pending approval"));
+        assertEquals(Status.APPROVED, AdmissionFormFilterValidation.parseStatus("APPROVED"));
+        assertEquals(Status.CANCELLED, AdmissionFormFilterValidation.parseStatus(" cancelled "));
+    }
+
+    @Test
+    void statusesOfOtherEntitiesAreRejected() {
+        assertNull(AdmissionFormFilterValidation.parseStatus("active term"));
+        assertNull(AdmissionFormFilterValidation.parseStatus("account ban"));
+        assertNull(AdmissionFormFilterValidation.parseStatus("mail sent"));
+
+        AdmissionFormFilterRequest request = AdmissionFormFilterRequest.builder().status("active").build();
+        assertEquals("Unknown form status: active", AdmissionFormFilterValidation.validate(request));
+    }
+}
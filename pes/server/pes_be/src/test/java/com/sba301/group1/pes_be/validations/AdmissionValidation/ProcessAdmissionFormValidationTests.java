@@ -0,0 +1,42 @@
+package com.sba301.group1.pes_be.validations.AdmissionValidation;
+
+import com.sba301.group1.pes_be.dto.requests.BulkProcessAdmissionFormRequest;
+import com.sba301.group1.pes_be.dto.requests.ProcessAdmissionFormRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProcessAdmissionFormValidationTests {
+
+    @Test
+    void nullDecisionIsRejected() {
+        // JSON {"forms": [{"id": 1, ...}, null]}
+        BulkProcessAdmissionFormRequest request = new BulkProcessAdmissionFormRequest(
+                Arrays.asList(decision(1), null));
+
+        assertEquals("Form decision must not be null", ProcessAdmissionFormValidation.bulkValidate(request));
+    }
+
+    @Test
+    void duplicateFormIdIsRejected() {
+        BulkProcessAdmissionFormRequest request = new BulkProcessAdmissionFormRequest(
+                List.of(decision(1), decision(2), decision(1)));
+
+        assertEquals("Duplicate form id: 1", ProcessAdmissionFormValidation.bulkValidate(request));
+    }
+
+    @Test
+    void distinctDecisionsAreAccepted() {
+        BulkProcessAdmissionFormRequest request = new BulkProcessAdmissionFormRequest(
+                List.of(decision(1), decision(2)));
+
+        assertEquals("", ProcessAdmissionFormValidation.bulkValidate(request));
+    }
+
+    private static ProcessAdmissionFormRequest decision(int id) {
+        return ProcessAdmissionFormRequest.builder().id(id).isApproved(true).build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.sba301.group1.pes_be.validations.ClassValidation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoomAvailabilityValidationTests {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 9, 1);
+
+    @Test
+    void rangeNeedsBothEnds() {
+        assertEquals("From date and to date must be provided together", RoomAvailabilityValidation.validate(FROM, null));
+        assertEquals("From date and to date must be provided together", RoomAvailabilityValidation.validate(null, FROM));
+    }
+
+    @Test
+    void fromMustNotBeAfterTo() {
+        assertEquals("From date must be before to date", RoomAvailabilityValidation.validate(FROM, FROM.minusDays(1)));
+        assertEquals("", RoomAvailabilityValidation.validate(FROM, FROM));
+        assertEquals("", RoomAvailabilityValidation.validate(null, null));
+    }
+}
@@ -0,0 +1,40 @@
+package com.sba301.group1.pes_be.validations.ScheduleValidation;
+
+import com.sba301.group1.pes_be.dto.requests.GenerateTimetableRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerateTimetableValidationTests {
+
+    @Test
+    void loneStartTimeIsComparedWithTheDefaultEnd() {
+        String error = GenerateTimetableValidation.validate(request("16:00", null));
+
+        assertTrue(error.startsWith("Day end time (16:00) must be after day start time (16:00)"), error);
+    }
+
+    @Test
+    void loneEndTimeIsComparedWithTheDefaultStart() {
+        String error = GenerateTimetableValidation.validate(request(null, "07:30"));
+
+        assertTrue(error.startsWith("Day end time (07:30) must be after day start time (08:00)"), error);
+    }
+
+    @Test
+    void validTimesPass() {
+        assertEquals("", GenerateTimetableValidation.validate(request("07:30", null)));
+        assertEquals("", GenerateTimetableValidation.validate(request(null, "17:00")));
+        assertEquals("", GenerateTimetableValidation.validate(request("09:00", "11:00")));
+        assertEquals("", GenerateTimetableValidation.validate(request(null, null)));
+    }
+
+    private static GenerateTimetableRequest request(String dayStartTime, String dayEndTime) {
+        return GenerateTimetableRequest.builder()
+                .year(2025)
+                .dayStartTime(dayStartTime)
+                .dayEndTime(dayEndTime)
+                .build();
+    }
+}